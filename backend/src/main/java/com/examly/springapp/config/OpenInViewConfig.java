@@ -0,0 +1,30 @@
+package com.examly.springapp.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view for the endpoints that serialize entities with lazy associations, replacing
+ * Boot's global {@code spring.jpa.open-in-view}. An open entity manager keeps its JDBC
+ * connection from the first query until the response is written, so login (which spends
+ * most of its time in BCrypt) and verification, which only return projections, are
+ * excluded and give their connection back as soon as each query completes.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/auth/**", "/api/verify/**");
+    }
+}
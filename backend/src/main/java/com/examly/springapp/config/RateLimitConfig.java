@@ -0,0 +1,19 @@
+package com.examly.springapp.config;
+
+import com.examly.springapp.ratelimit.VerificationThrottle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final VerificationThrottle verificationThrottle;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(verificationThrottle).addPathPatterns("/api/verify/**");
+    }
+}
@@ -1,10 +1,21 @@
 package com.examly.springapp.config;
 
 import com.examly.springapp.security.AuthTokenFilter;
+import com.examly.springapp.security.OffloadedPasswordEncoder;
+import com.examly.springapp.security.TimedPasswordEncoder;
 import com.examly.springapp.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -21,8 +32,15 @@ public class SecurityConfig {
     private final AuthTokenFilter authTokenFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.password-hashing.bcrypt-strength:10}") int strength,
+                                           @Value("${app.password-hashing.threads:0}") int threads,
+                                           @Value("${app.password-hashing.queue-capacity:100}") int queueCapacity,
+                                           @Value("${app.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        // By default half the cores, so verification keeps the rest during a login storm
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new OffloadedPasswordEncoder(new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry),
+                poolSize, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -30,12 +48,35 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http, Environment environment) throws Exception {
+        // Metrics are scraped without credentials only when actuator has its own, unpublished port
+        boolean separateManagementPort = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to("health")).permitAll()
+                .requestMatchers(EndpointRequest.to("prometheus"))
+                    .access(separateManagementPort ? (authentication, context) -> new AuthorizationDecision(true)
+                            : AuthorityAuthorizationManager.hasRole("SYSTEM_ADMIN"))
+                .anyRequest().hasRole("SYSTEM_ADMIN")
+            )
+            .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Streaming responses finish on an ASYNC dispatch that was authorized on the way in
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/verify/**").permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
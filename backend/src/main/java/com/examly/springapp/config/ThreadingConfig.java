@@ -0,0 +1,44 @@
+package com.examly.springapp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Request threading mode. With {@code spring.threads.virtual.enabled=true} (the
+ * {@code virtual-threads} profile) on Java 21 or later, Tomcat, the application task executor
+ * and the scheduler run on virtual threads; on older JVMs the property has no effect and
+ * platform threads are used.
+ */
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    public static final String CACHE_LOADER = "cacheLoadExecutor";
+
+    /**
+     * Runs cache loads that query the database. Caffeine computes a missing entry while
+     * holding a map lock, which pins a virtual thread to its carrier for the whole query, so
+     * on virtual threads loads are handed to a fresh virtual thread and the caller waits
+     * unpinned. On platform threads loads stay on the calling thread.
+     */
+    @Bean(CACHE_LOADER)
+    public TaskExecutor cacheLoadExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Handling requests on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-load-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled needs Java 21, running on Java {}; using platform threads",
+                    Runtime.version().feature());
+        }
+        return new SyncTaskExecutor();
+    }
+}
@@ -0,0 +1,58 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.render.ArtifactStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes stored artifacts with conditional-request support. When the connector supports
+ * sendfile (Tomcat NIO), the file is handed to the container and copied by the kernel;
+ * otherwise it is transferred with {@link FileChannel#transferTo}.
+ */
+final class ArtifactResponses {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ArtifactResponses() {
+    }
+
+    static void serve(ArtifactStore.Artifact artifact, String fileName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Sets ETag and Last-Modified, and answers 304 when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(artifact.etag(), artifact.lastModified())) {
+            return;
+        }
+        response.setContentType(artifact.format().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(fileName).build().toString());
+        response.setContentLengthLong(artifact.size());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, artifact.path().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, artifact.size());
+            return;
+        }
+        try (FileChannel file = FileChannel.open(artifact.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < artifact.size()) {
+                position += file.transferTo(position, artifact.size() - position, out);
+            }
+        }
+    }
+}
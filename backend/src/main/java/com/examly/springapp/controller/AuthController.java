@@ -3,6 +3,7 @@ package com.examly.springapp.controller;
 import com.examly.springapp.dto.JwtResponse;
 import com.examly.springapp.dto.LoginRequest;
 import com.examly.springapp.dto.RegisterRequest;
+import com.examly.springapp.exception.PasswordHashingBusyException;
 import com.examly.springapp.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,6 +22,8 @@ public class AuthController {
         try {
             JwtResponse response = authService.authenticateUser(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid credentials");
@@ -32,6 +35,8 @@ public class AuthController {
         try {
             String result = authService.registerUser(registerRequest);
             return ResponseEntity.ok(result);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Registration failed");
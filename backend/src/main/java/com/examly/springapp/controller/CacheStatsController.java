@@ -0,0 +1,48 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.dto.ArtifactStoreStats;
+import com.examly.springapp.dto.CacheStats;
+import com.examly.springapp.dto.FilterStats;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.QrCodeGenerator;
+import com.examly.springapp.render.TemplateCache;
+import com.examly.springapp.security.PrincipalCache;
+import com.examly.springapp.service.VerificationCache;
+import com.examly.springapp.service.VerificationCodeFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheStatsController {
+    private final VerificationCache verificationCache;
+    private final VerificationCodeFilter verificationCodeFilter;
+    private final PrincipalCache principalCache;
+    private final TemplateCache templateCache;
+    private final ArtifactStore artifactStore;
+    private final QrCodeGenerator qrCodeGenerator;
+
+    @GetMapping
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(List.of(verificationCache.stats(), principalCache.stats(), templateCache.stats(), qrCodeGenerator.stats()));
+    }
+
+    @GetMapping("/artifacts")
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<ArtifactStoreStats> getArtifactStoreStats() {
+        return ResponseEntity.ok(artifactStore.stats());
+    }
+
+    @GetMapping("/verification-filter")
+    @PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<FilterStats> getVerificationFilterStats() {
+        return ResponseEntity.ok(verificationCodeFilter.stats());
+    }
+}
@@ -1,42 +1,61 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.BulkCertificateRequest;
+import com.examly.springapp.dto.BulkCertificateResponse;
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.CertificateRenderData;
 import com.examly.springapp.dto.CertificateRequest;
+import com.examly.springapp.dto.CertificateSummary;
+import com.examly.springapp.dto.CursorPage;
 import com.examly.springapp.entity.Certificate;
 import com.examly.springapp.entity.User;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.QrCode;
+import com.examly.springapp.render.QrCodeGenerator;
+import com.examly.springapp.render.RenderFormat;
 import com.examly.springapp.security.UserPrincipal;
+import com.examly.springapp.service.CertificateRenderService;
 import com.examly.springapp.service.CertificateService;
-import com.examly.springapp.service.UserService;
+import com.examly.springapp.service.CertificateTokenService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = CursorPage.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping("/api/certificates")
 @RequiredArgsConstructor
 @Slf4j
 public class CertificateController {
     private final CertificateService certificateService;
-    private final UserService userService;
+    private final CertificateRenderService certificateRenderService;
+    private final QrCodeGenerator qrCodeGenerator;
+    private final CertificateTokenService certificateTokenService;
 
     @GetMapping
     @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('SYSTEM_ADMIN')")
-    public ResponseEntity<List<Certificate>> getAllCertificates() {
-        return ResponseEntity.ok(certificateService.getAllCertificates());
+    public ResponseEntity<List<CertificateSummary>> getAllCertificates(CertificateFilter filter,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return CursorPageResponses.of(certificateService.getCertificatePage(filter, after, size));
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Certificate>> getMyCertificates(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        User user = userService.getUserById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(certificateService.getCertificatesByRecipient(user));
+    public ResponseEntity<List<CertificateSummary>> getMyCertificates(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(certificateService.getCertificatesByRecipientId(userPrincipal.getId()));
     }
 
     @GetMapping("/{id}")
@@ -51,6 +70,48 @@ public class CertificateController {
         }
     }
 
+    @GetMapping("/{id}/render")
+    public void renderCertificate(@PathVariable Long id,
+                                  @RequestParam(defaultValue = "pdf") String format,
+                                  @AuthenticationPrincipal UserPrincipal userPrincipal,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        CertificateRenderData data = certificateRenderService.getRenderData(id);
+        // Students may only download their own certificates
+        if (userPrincipal.getRole() == User.Role.STUDENT && !data.recipientId().equals(userPrincipal.getId())) {
+            throw new AccessDeniedException("Access denied");
+        }
+        RenderFormat renderFormat = RenderFormat.from(format);
+        try (ArtifactStore.Artifact artifact = certificateRenderService.artifact(data, renderFormat)) {
+            ArtifactResponses.serve(artifact, CertificateRenderService.fileName(data, renderFormat), request, response);
+        }
+    }
+
+    @GetMapping("/{id}/qr")
+    public ResponseEntity<byte[]> getVerificationQrCode(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "png") String format,
+                                                        @RequestParam(defaultValue = "8") int moduleSize,
+                                                        @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        CertificateRenderData data = certificateRenderService.getRenderData(id);
+        if (userPrincipal.getRole() == User.Role.STUDENT && !data.recipientId().equals(userPrincipal.getId())) {
+            throw new AccessDeniedException("Access denied");
+        }
+        QrCode qrCode = qrCodeGenerator.forVerification(data.verificationCode(), certificateTokenService.sign(data));
+        if ("svg".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.valueOf("image/svg+xml"))
+                    .body(qrCode.toSvg().getBytes(StandardCharsets.UTF_8));
+        }
+        if (!"png".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Unsupported QR code format: " + format);
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        qrCode.writePng(Math.max(1, Math.min(moduleSize, 32)), png);
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .body(png.toByteArray());
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('INSTRUCTOR') or hasRole('SYSTEM_ADMIN')")
     public ResponseEntity<Certificate> createCertificate(@Valid @RequestBody CertificateRequest request) {
@@ -58,6 +119,12 @@ public class CertificateController {
         return ResponseEntity.ok(certificate);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('INSTRUCTOR') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<BulkCertificateResponse> issueCertificates(@Valid @RequestBody BulkCertificateRequest request) {
+        return ResponseEntity.ok(certificateService.issueCertificates(request));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('SYSTEM_ADMIN')")
     public ResponseEntity<Certificate> updateCertificate(@PathVariable Long id, @RequestBody Certificate certificateDetails) {
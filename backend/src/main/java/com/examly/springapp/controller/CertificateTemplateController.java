@@ -1,16 +1,20 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.TemplateStamp;
 import com.examly.springapp.entity.CertificateTemplate;
 import com.examly.springapp.service.CertificateTemplateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = CursorPage.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping("/api/templates")
 @RequiredArgsConstructor
@@ -19,14 +23,26 @@ public class CertificateTemplateController {
     private final CertificateTemplateService templateService;
 
     @GetMapping
-    public ResponseEntity<List<CertificateTemplate>> getAllTemplates() {
-        return ResponseEntity.ok(templateService.getAllTemplates());
+    public ResponseEntity<List<CertificateTemplate>> getAllTemplates(@RequestParam(required = false) Long after,
+                                                                     @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return CursorPageResponses.of(templateService.getTemplatePage(after, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CertificateTemplate> getTemplateById(@PathVariable Long id) {
+    public ResponseEntity<CertificateTemplate> getTemplateById(@PathVariable Long id, WebRequest request) {
+        // Answers 304 from the version columns alone, before the design data is loaded
+        TemplateStamp stamp = templateService.getTemplateStamp(id).orElse(null);
+        if (stamp == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(stamp.etag())) {
+            return null;
+        }
         return templateService.getTemplateById(id)
-                .map(ResponseEntity::ok)
+                .map(template -> ResponseEntity.ok()
+                        .eTag(TemplateStamp.of(template).etag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(template))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -1,11 +1,23 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.CourseStamp;
+import com.examly.springapp.dto.CourseSummary;
+import com.examly.springapp.dto.CursorPage;
 import com.examly.springapp.entity.Course;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.service.CertificateArchiveService;
 import com.examly.springapp.service.CourseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,10 +27,12 @@ import java.util.List;
 @Slf4j
 public class CourseController {
     private final CourseService courseService;
+    private final CertificateArchiveService certificateArchiveService;
 
     @GetMapping
-    public List<Course> getAllCourses() {
-        return courseService.getAllCourses();
+    public ResponseEntity<List<CourseSummary>> getAllCourses(@RequestParam(required = false) Long after,
+                                                      @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return CursorPageResponses.of(courseService.getCoursePage(after, size));
     }
 
     @PostMapping
@@ -26,10 +40,34 @@ public class CourseController {
         return courseService.createCourse(course);
     }
 
+    @GetMapping("/{id}/certificates.zip")
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('INSTRUCTOR') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> downloadCertificates(@PathVariable Long id,
+                                                                      @RequestParam(defaultValue = "pdf") String format) {
+        RenderFormat renderFormat = RenderFormat.from(format);
+        certificateArchiveService.requireCourse(id);
+        String filename = "course-" + id + "-certificates.zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> certificateArchiveService.writeCourseArchive(id, renderFormat, out));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<Course> getCourseById(@PathVariable Long id, WebRequest request) {
+        // Answers 304 from the revision columns alone, before the course and its template are loaded
+        CourseStamp stamp = courseService.getCourseStamp(id).orElse(null);
+        if (stamp == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(stamp.etag())) {
+            return null;
+        }
         return courseService.getCourseById(id)
-                .map(ResponseEntity::ok)
+                .map(course -> ResponseEntity.ok()
+                        .eTag(CourseStamp.of(course).etag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(course))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -0,0 +1,24 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Listing endpoints keep returning a plain JSON array; the cursor for the next page
+ * travels in the {@value CursorPage#NEXT_CURSOR_HEADER} header.
+ */
+final class CursorPageResponses {
+
+    private CursorPageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(CursorPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return builder.body(page.getItems());
+    }
+}
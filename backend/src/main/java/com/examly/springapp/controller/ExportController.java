@@ -0,0 +1,50 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.VerificationLogFilter;
+import com.examly.springapp.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private final ExportService exportService;
+
+    @GetMapping("/certificates")
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCertificates(CertificateFilter filter,
+                                                                    @RequestParam(defaultValue = "ndjson") String format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return attachment("certificates", exportFormat, gzip,
+                out -> exportService.exportCertificates(filter, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/verification-logs")
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportVerificationLogs(VerificationLogFilter filter,
+                                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        return attachment("verification-logs", exportFormat, gzip,
+                out -> exportService.exportVerificationLogs(filter, exportFormat, gzip, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportService.Format format, boolean gzip,
+                                                             StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType());
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
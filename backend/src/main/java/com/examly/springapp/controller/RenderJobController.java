@@ -0,0 +1,35 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.dto.RenderJobRequest;
+import com.examly.springapp.dto.RenderJobStatus;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.service.RenderJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/render-jobs")
+@RequiredArgsConstructor
+public class RenderJobController {
+    private final RenderJobService renderJobService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('INSTRUCTOR') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<RenderJobStatus> submitRenderJob(@Valid @RequestBody RenderJobRequest request) {
+        RenderJobStatus status = renderJobService.submit(request.getCourseId(), RenderFormat.from(request.getFormat()));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('CERTIFICATE_ADMIN') or hasRole('INSTRUCTOR') or hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<RenderJobStatus> getRenderJob(@PathVariable String jobId) {
+        return renderJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,5 +1,7 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.UserSummary;
 import com.examly.springapp.entity.User;
 import com.examly.springapp.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = CursorPage.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -18,8 +20,9 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('SYSTEM_ADMIN') or hasRole('INSTITUTION_ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<UserSummary>> getAllUsers(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return CursorPageResponses.of(userService.getUserPage(after, size));
     }
 
     @GetMapping("/{id}")
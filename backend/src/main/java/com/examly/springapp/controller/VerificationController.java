@@ -1,39 +1,112 @@
 package com.examly.springapp.controller;
 
-import com.examly.springapp.entity.Certificate;
+import com.examly.springapp.dto.BatchVerificationRequest;
+import com.examly.springapp.dto.BatchVerificationResult;
+import com.examly.springapp.dto.SigningKeyInfo;
+import com.examly.springapp.dto.TokenVerificationRequest;
+import com.examly.springapp.dto.TokenVerificationResult;
+import com.examly.springapp.dto.VerificationResult;
+import com.examly.springapp.ratelimit.ClientAddress;
+import com.examly.springapp.ratelimit.VerificationThrottle;
 import com.examly.springapp.service.CertificateService;
+import com.examly.springapp.service.CertificateTokenService;
+import com.examly.springapp.service.RevocationList;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/verify")
-@RequiredArgsConstructor
 public class VerificationController {
+    private static final CacheControl KEY_CACHE = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
     private final CertificateService certificateService;
+    private final CertificateTokenService certificateTokenService;
+    private final RevocationList revocationList;
+    private final VerificationThrottle verificationThrottle;
+    private final CacheControl resultCache;
+
+    public VerificationController(CertificateService certificateService,
+                                  CertificateTokenService certificateTokenService,
+                                  RevocationList revocationList,
+                                  VerificationThrottle verificationThrottle,
+                                  @Value("${app.verification.http-cache-seconds:60}") long httpCacheSeconds) {
+        this.certificateService = certificateService;
+        this.certificateTokenService = certificateTokenService;
+        this.revocationList = revocationList;
+        this.verificationThrottle = verificationThrottle;
+        this.resultCache = CacheControl.maxAge(Duration.ofSeconds(httpCacheSeconds)).cachePublic();
+    }
 
     @GetMapping("/{code}")
     public ResponseEntity<?> verifyCertificate(@PathVariable String code, HttpServletRequest request) {
         String verifierInfo = request.getHeader("User-Agent");
-        String ipAddress = getClientIpAddress(request);
+        String ipAddress = ClientAddress.of(request);
         
-        Certificate certificate = certificateService.verifyCertificate(code, verifierInfo, ipAddress);
+        VerificationResult result = certificateService.verifyCertificate(code, verifierInfo, ipAddress);
         
-        if (certificate != null) {
-            return ResponseEntity.ok(certificate);
+        // A matching If-None-Match turns this into a 304 without the body
+        if (result != null) {
+            return ResponseEntity.ok()
+                    .eTag(result.etag())
+                    .cacheControl(resultCache)
+                    .body(result);
         } else {
-            return ResponseEntity.notFound().build();
+            return ResponseEntity.notFound().cacheControl(resultCache).build();
         }
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedForHeader = request.getHeader("X-Forwarded-For");
-        if (xForwardedForHeader == null) {
-            return request.getRemoteAddr();
-        } else {
-            return xForwardedForHeader.split(",")[0];
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchVerificationResult>> verifyCertificates(@Valid @RequestBody BatchVerificationRequest batchRequest,
+                                                                            HttpServletRequest request) {
+        verificationThrottle.acquireBatch(request, batchRequest.getCodes().size());
+        return ResponseEntity.ok(certificateService.verifyCertificates(batchRequest.getCodes(),
+                request.getHeader("User-Agent"), ClientAddress.of(request)));
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenVerificationResult> verifyToken(@Valid @RequestBody TokenVerificationRequest tokenRequest,
+                                                               HttpServletRequest request) {
+        return ResponseEntity.ok(certificateService.verifyToken(tokenRequest.getToken(),
+                request.getHeader("User-Agent"), ClientAddress.of(request)));
+    }
+
+    @GetMapping("/public-key")
+    public ResponseEntity<SigningKeyInfo> getPublicKey() {
+        return ResponseEntity.ok()
+                .eTag(certificateTokenService.getKeyId())
+                .cacheControl(KEY_CACHE)
+                .body(certificateTokenService.getKeyInfo());
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<byte[]> getRevocations(@RequestParam(required = false) Long since, WebRequest request) {
+        // Checked before encoding, so polling an unchanged list costs no export or signature
+        if (request.checkNotModified(revocationsETag(revocationList.getVersion(), since))) {
+            return null;
         }
+        RevocationList.Export export = revocationList.export(since);
+        return ResponseEntity.ok()
+                .eTag(revocationsETag(export.version(), since))
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("X-Revocation-Version", String.valueOf(export.version()))
+                .header("X-Revocation-Kind", export.delta() ? "delta" : "snapshot")
+                .header("X-Signature-Key-Id", certificateTokenService.getKeyId())
+                .header("X-Signature", certificateTokenService.signDetached(export.body()))
+                .body(export.body());
+    }
+
+    private static String revocationsETag(long version, Long since) {
+        return "\"revocations-" + version + (since != null ? "-since-" + since : "") + "\"";
     }
-}
\ No newline at end of file
+}
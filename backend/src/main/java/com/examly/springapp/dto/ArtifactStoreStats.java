@@ -0,0 +1,15 @@
+package com.examly.springapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArtifactStoreStats {
+    private String directory;
+    private int files;
+    private long bytes;
+    private long maxBytes;
+}
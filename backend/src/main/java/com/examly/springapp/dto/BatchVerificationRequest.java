@@ -0,0 +1,17 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchVerificationRequest {
+    public static final int MAX_CODES = 500;
+
+    @NotEmpty
+    @Size(max = MAX_CODES)
+    private List<@NotBlank @Size(max = 64) String> codes;
+}
@@ -0,0 +1,12 @@
+package com.examly.springapp.dto;
+
+/**
+ * Outcome for one code of a batch verification; {@code certificate} is null when the code
+ * is unknown.
+ */
+public record BatchVerificationResult(
+        String verificationCode,
+        boolean found,
+        VerificationResult certificate
+) {
+}
@@ -0,0 +1,30 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCertificateRequest {
+    /** Cohorts are issued in one transaction; larger ones are split into several requests. */
+    public static final int MAX_RECIPIENTS = 5000;
+
+    @NotNull
+    private Long courseId;
+
+    @NotEmpty
+    @Size(max = MAX_RECIPIENTS)
+    @Valid
+    private List<Recipient> recipients;
+
+    @Data
+    public static class Recipient {
+        // Either ID or email can be used to identify recipient
+        private Long recipientId;
+        private String recipientEmail;
+    }
+}
@@ -0,0 +1,34 @@
+package com.examly.springapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCertificateResponse {
+    private Long courseId;
+    private int issued;
+    private int unknownRecipients;
+    private int duplicates;
+    private List<Result> results;
+
+    public enum Status {
+        ISSUED, UNKNOWN_RECIPIENT, DUPLICATE
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        private int index;
+        private Long recipientId;
+        private String recipientEmail;
+        private Status status;
+        private String certificateNumber;
+        private String verificationCode;
+    }
+}
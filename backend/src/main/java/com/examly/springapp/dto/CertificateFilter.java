@@ -0,0 +1,20 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Certificate;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CertificateFilter {
+    private Long courseId;
+    private Long recipientId;
+    private Certificate.CertificateStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime issuedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime issuedTo;
+}
@@ -0,0 +1,23 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Certificate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything needed to render one certificate. Only the template's id and version are
+ * loaded; its design data is read when the compiled template is not already cached.
+ */
+public record CertificateRenderData(
+        Long id,
+        String certificateNumber,
+        String verificationCode,
+        LocalDateTime issueDate,
+        Certificate.CertificateStatus status,
+        Long recipientId,
+        String recipientName,
+        String courseName,
+        Long templateId,
+        Integer templateVersion
+) {
+}
@@ -0,0 +1,35 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Certificate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Certificate row for listings. Built directly by JPQL constructor expressions, so course
+ * and recipient come from the same query and no entity is loaded.
+ */
+public record CertificateSummary(
+        Long id,
+        String certificateNumber,
+        String verificationCode,
+        CourseRef course,
+        RecipientRef recipient,
+        LocalDateTime issueDate,
+        Certificate.CertificateStatus status
+) {
+    public CertificateSummary(Long id, String certificateNumber, String verificationCode,
+                              Long courseId, String courseName,
+                              Long recipientId, String recipientName, String recipientEmail,
+                              LocalDateTime issueDate, Certificate.CertificateStatus status) {
+        this(id, certificateNumber, verificationCode,
+                new CourseRef(courseId, courseName),
+                new RecipientRef(recipientId, recipientName, recipientEmail),
+                issueDate, status);
+    }
+
+    public record CourseRef(Long id, String courseName) {
+    }
+
+    public record RecipientRef(Long id, String fullName, String email) {
+    }
+}
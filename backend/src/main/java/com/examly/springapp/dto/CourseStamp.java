@@ -0,0 +1,31 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Course;
+import com.examly.springapp.entity.CertificateTemplate;
+
+/**
+ * Revision of a course and of the template embedded in its representation, read without
+ * loading either entity. Any update to one of them yields a new ETag.
+ */
+public record CourseStamp(
+        Long id,
+        Long revision,
+        Long templateId,
+        Integer templateVersion,
+        Long templateRevision
+) {
+    public static CourseStamp of(Course course) {
+        CertificateTemplate template = course.getCertificateTemplate();
+        return template != null
+                ? new CourseStamp(course.getId(), course.getRevision(), template.getId(), template.getVersion(), template.getRevision())
+                : new CourseStamp(course.getId(), course.getRevision(), null, null, null);
+    }
+
+    public String etag() {
+        String value = "course-" + id + "-" + revision;
+        if (templateId != null) {
+            value += "-template-" + templateId + "-" + templateVersion + "-" + templateRevision;
+        }
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,21 @@
+package com.examly.springapp.dto;
+
+/**
+ * Course row for listings. Carries the template's id and name only, never its design data.
+ */
+public record CourseSummary(
+        Long id,
+        String courseName,
+        String description,
+        String completionCriteria,
+        TemplateRef certificateTemplate
+) {
+    public CourseSummary(Long id, String courseName, String description, String completionCriteria,
+                         Long templateId, String templateName) {
+        this(id, courseName, description, completionCriteria,
+                templateId != null ? new TemplateRef(templateId, templateName) : null);
+    }
+
+    public record TemplateRef(Long id, String name) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.examly.springapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FilterStats {
+    private String name;
+    private boolean ready;
+    private long bitCount;
+    private int hashFunctions;
+    private long insertions;
+    private long removalsSinceRebuild;
+    private double expectedFalsePositiveRate;
+    private long rejected;
+    private long falsePositives;
+    private double measuredFalsePositiveRate;
+    private long rebuilds;
+}
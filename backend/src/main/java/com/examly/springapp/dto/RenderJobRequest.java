@@ -0,0 +1,13 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class RenderJobRequest {
+    @NotNull
+    private Long courseId;
+
+    // pdf (default) or png
+    private String format;
+}
@@ -0,0 +1,24 @@
+package com.examly.springapp.dto;
+
+import java.time.LocalDateTime;
+
+public record RenderJobStatus(
+        String id,
+        Long courseId,
+        String format,
+        State state,
+        long total,
+        long rendered,
+        long failed,
+        String outputDirectory,
+        LocalDateTime submittedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        LocalDateTime outputPinnedUntil,
+        double documentsPerSecond,
+        String error
+) {
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
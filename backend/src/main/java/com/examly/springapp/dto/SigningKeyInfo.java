@@ -0,0 +1,7 @@
+package com.examly.springapp.dto;
+
+/**
+ * Public half of the certificate token signing key, for verifying tokens offline.
+ */
+public record SigningKeyInfo(String algorithm, String keyId, String format, String publicKey) {
+}
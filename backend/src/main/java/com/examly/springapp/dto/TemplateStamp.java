@@ -0,0 +1,17 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.CertificateTemplate;
+
+/**
+ * Design version and revision of a template, read without loading its design data.
+ */
+public record TemplateStamp(Long id, Integer version, Long revision) {
+
+    public static TemplateStamp of(CertificateTemplate template) {
+        return new TemplateStamp(template.getId(), template.getVersion(), template.getRevision());
+    }
+
+    public String etag() {
+        return "\"template-" + id + "-" + version + "-" + revision + "\"";
+    }
+}
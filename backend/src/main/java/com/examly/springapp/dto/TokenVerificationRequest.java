@@ -0,0 +1,12 @@
+package com.examly.springapp.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class TokenVerificationRequest {
+    @NotBlank
+    @Size(max = 2048)
+    private String token;
+}
@@ -0,0 +1,23 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Certificate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of checking a signed certificate token. Claims are only present when the
+ * signature is valid.
+ */
+public record TokenVerificationResult(
+        boolean valid,
+        Reason reason,
+        String certificateNumber,
+        String recipientName,
+        String courseName,
+        LocalDateTime issueDate,
+        Certificate.CertificateStatus status
+) {
+    public enum Reason {
+        VALID, INVALID_SIGNATURE, NOT_ACTIVE, REVOKED
+    }
+}
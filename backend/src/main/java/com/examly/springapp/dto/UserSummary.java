@@ -0,0 +1,15 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.User;
+
+import java.time.LocalDateTime;
+
+public record UserSummary(
+        Long id,
+        String fullName,
+        String email,
+        User.Role role,
+        Boolean isActive,
+        LocalDateTime createdDate
+) {
+}
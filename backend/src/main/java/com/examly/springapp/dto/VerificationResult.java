@@ -0,0 +1,58 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.entity.Certificate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Public verification payload: only what a verifier needs to see. The certificate id is
+ * kept for the verification log but never serialized.
+ */
+public record VerificationResult(
+        @JsonIgnore Long certificateId,
+        String certificateNumber,
+        String verificationCode,
+        CourseRef course,
+        RecipientRef recipient,
+        LocalDateTime issueDate,
+        Certificate.CertificateStatus status
+) {
+    public VerificationResult(Long certificateId, String certificateNumber, String verificationCode,
+                              String courseName, String recipientName,
+                              LocalDateTime issueDate, Certificate.CertificateStatus status) {
+        this(certificateId, certificateNumber, verificationCode,
+                new CourseRef(courseName), new RecipientRef(recipientName),
+                issueDate, status);
+    }
+
+    /**
+     * Strong ETag over every serialized field, so revoking the certificate changes it while
+     * a repeat verification can be answered from the cached projection alone.
+     */
+    public String etag() {
+        String content = String.join("|",
+                String.valueOf(certificateNumber),
+                String.valueOf(verificationCode),
+                String.valueOf(course.courseName()),
+                String.valueOf(recipient.fullName()),
+                String.valueOf(issueDate),
+                String.valueOf(status));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record CourseRef(String courseName) {
+    }
+
+    public record RecipientRef(String fullName) {
+    }
+}
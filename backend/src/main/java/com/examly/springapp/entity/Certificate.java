@@ -12,7 +12,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "certificates")
+@Table(name = "certificates", indexes = {
+        @Index(name = "idx_certificates_course_id", columnList = "course_id, id"),
+        @Index(name = "idx_certificates_recipient_id", columnList = "recipient_id, id"),
+        @Index(name = "idx_certificates_status_id", columnList = "status, id"),
+        @Index(name = "idx_certificates_issue_date", columnList = "issue_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "certificate_templates")
@@ -30,6 +31,12 @@ public class CertificateTemplate {
     @Column(nullable = false)
     private Integer version = 1;
 
+    // Bumped on every update, including ones that keep the design version; ETags are derived from it
+    // The column default covers existing rows and inserts that bypass JPA
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long revision = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "courses")
@@ -29,4 +30,10 @@ public class Course {
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "certificate_template_id")
     private CertificateTemplate certificateTemplate;
+
+    // Bumped on every update; ETags are derived from it
+    // The column default covers existing rows and inserts that bypass JPA
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long revision = 0L;
 }
\ No newline at end of file
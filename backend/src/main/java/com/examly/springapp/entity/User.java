@@ -1,5 +1,7 @@
 package com.examly.springapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -10,6 +12,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
@@ -35,6 +38,7 @@ public class User {
 
     @NotBlank
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -52,6 +56,10 @@ public class User {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdDate;
 
+    // Access tokens issued before this are refused; set when the role or active flag changes
+    @JsonIgnore
+    private Instant tokensValidAfter;
+
     public enum Role {
         STUDENT, INSTRUCTOR, CERTIFICATE_ADMIN, INSTITUTION_ADMIN, SYSTEM_ADMIN, VERIFIER
     }
@@ -0,0 +1,19 @@
+package com.examly.springapp.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated. Answered with 503 and a
+ * {@code Retry-After} header instead of queueing the request behind the backlog.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Password hashing is at capacity");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.examly.springapp.exception;
+
+/**
+ * Thrown when a client has used up its verification allowance. Answered with 429 and a
+ * {@code Retry-After} header.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Verification rate limit exceeded");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,102 @@
+package com.examly.springapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows observed latency, after the gradient algorithm. Latencies
+ * are averaged over short windows and compared with a slowly moving long-term average; while
+ * the short average stays near it the limit grows by roughly its square root per window, and
+ * as requests start queueing (short average rising) the limit shrinks in proportion, down to
+ * half per window. Requests beyond the limit are refused immediately instead of joining a
+ * queue.
+ *
+ * <p>Acquire and release are lock-free. The window update runs on whichever releasing thread
+ * wins a compare-and-set on the window start, so the limit has a single writer.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final long WINDOW_NANOS = 100_000_000L;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    // Short-term latency may exceed the long-term average by this factor before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW_WEIGHT = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private volatile double limit;
+    // Written only by the window owner
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        latencySum.add(latencyNanos);
+        samples.increment();
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && samples.sum() >= MIN_WINDOW_SAMPLES && windowStart.compareAndSet(start, now)) {
+            update();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update() {
+        long count = samples.sumThenReset();
+        long sum = latencySum.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+        double shortLatency = (double) sum / count;
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+        } else {
+            longLatency = longLatency * (1 - LONG_WINDOW_WEIGHT) + shortLatency * LONG_WINDOW_WEIGHT;
+            // After a sustained slowdown, stop treating the old latency as achievable
+            longLatency = Math.min(longLatency, shortLatency * 2);
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        // Growing a limit the traffic never reached would only admit a later burst unchecked
+        if (gradient >= 1.0 && peak < current / 2) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, next));
+    }
+}
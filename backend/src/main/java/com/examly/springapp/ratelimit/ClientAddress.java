@@ -0,0 +1,19 @@
+package com.examly.springapp.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The client address recorded in verification logs and used as the rate-limit key. This is
+ * the peer address as resolved by Tomcat's {@code RemoteIpValve}: {@code X-Forwarded-For} is
+ * honoured only when the request arrives from a proxy matching
+ * {@code server.tomcat.remoteip.internal-proxies}, so clients cannot pick their own key.
+ */
+public final class ClientAddress {
+
+    private ClientAddress() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,117 @@
+package com.examly.springapp.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client, stored as a single theoretical arrival time (GCRA): each request
+ * pushes the time forward by one emission interval, and a request is refused while the time
+ * is more than {@code burst} intervals ahead of now. Taking a token is one compare-and-set,
+ * so there are no locks on the request path.
+ *
+ * <p>Buckets live in a fixed number of independent stripes, each a hash map capped at its
+ * share of {@code maxClients}. A bucket whose arrival time has passed is full and therefore
+ * indistinguishable from a missing one, so {@link #evictIdle} drops such entries freely. A new
+ * client arriving at a full stripe triggers such a sweep at most once per
+ * {@link #SWEEP_INTERVAL_NANOS} for that stripe; otherwise, and when the sweep frees nothing,
+ * it shares the stripe's overflow bucket. A flood of new addresses therefore neither grows
+ * memory nor turns every request into a scan of the stripe.
+ */
+public class ClientRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int stripeCapacity;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.stripeCapacity = Math.max(1, maxClients / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 when granted, otherwise the nanoseconds until
+     * one becomes available.
+     */
+    public long tryAcquire(String client) {
+        return tryAcquire(client, 1);
+    }
+
+    /**
+     * Takes {@code permits} tokens at once, or none. Requests for more than {@code burst}
+     * permits are never granted.
+     */
+    public long tryAcquire(String client, int permits) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[spread(client.hashCode()) & (STRIPES - 1)];
+        AtomicLong bucket = stripe.buckets.get(client);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= stripeCapacity) {
+                stripe.sweepIfDue(now);
+            }
+            bucket = stripe.buckets.size() < stripeCapacity
+                    ? stripe.buckets.computeIfAbsent(client, key -> new AtomicLong(now))
+                    : stripe.overflow;
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos * permits;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops full buckets. A request racing with the removal may spend its token on the
+     * detached bucket, which at worst grants that client one extra request.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            stripe.evictIdle(now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+        private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+        void sweepIfDue(long now) {
+            long due = nextSweep.get();
+            if (now - due >= 0 && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+                evictIdle(now);
+            }
+        }
+
+        void evictIdle(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+}
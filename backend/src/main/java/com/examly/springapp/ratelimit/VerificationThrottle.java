@@ -0,0 +1,139 @@
+package com.examly.springapp.ratelimit;
+
+import com.examly.springapp.dto.BatchVerificationRequest;
+import com.examly.springapp.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards the public verification endpoints: first a per-client token bucket, then an adaptive
+ * concurrency limit shared by all clients. Either one answers {@code 429 Too Many Requests}
+ * with {@code Retry-After} before the request reaches the controller.
+ *
+ * <p>A batch request takes one request token like any other, and its codes are then charged
+ * to a separate per-client bucket by {@link #acquireBatch}, since the codes are only known
+ * once the body has been read.
+ *
+ * <p>Meters: {@code verify.shed} counter by {@code reason} (rate_limit, batch_codes, concurrency),
+ * {@code verify.concurrency.limit} and {@code verify.concurrency.in_flight} gauges and the
+ * {@code verify.rate_limit.clients} gauge of tracked clients.
+ */
+@Component
+public class VerificationThrottle implements HandlerInterceptor {
+
+    private static final String STARTED = VerificationThrottle.class.getName() + ".started";
+
+    private final boolean enabled;
+    private final ClientRateLimiter rateLimiter;
+    private final ClientRateLimiter batchCodeLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rateLimited;
+    private final Counter batchCodesLimited;
+    private final Counter concurrencyShed;
+
+    public VerificationThrottle(@Value("${app.rate-limit.verify.enabled:true}") boolean enabled,
+                                @Value("${app.rate-limit.verify.requests-per-second:20}") double requestsPerSecond,
+                                @Value("${app.rate-limit.verify.burst:40}") int burst,
+                                @Value("${app.rate-limit.verify.max-clients:100000}") int maxClients,
+                                @Value("${app.rate-limit.verify.batch.codes-per-second:100}") double batchCodesPerSecond,
+                                @Value("${app.rate-limit.verify.batch.burst:1000}") int batchBurst,
+                                @Value("${app.rate-limit.verify.initial-concurrency:20}") int initialConcurrency,
+                                @Value("${app.rate-limit.verify.min-concurrency:4}") int minConcurrency,
+                                @Value("${app.rate-limit.verify.max-concurrency:200}") int maxConcurrency,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.rateLimiter = new ClientRateLimiter(requestsPerSecond, burst, maxClients);
+        // A full batch must fit in the bucket, or it could never be granted
+        this.batchCodeLimiter = new ClientRateLimiter(batchCodesPerSecond,
+                Math.max(batchBurst, BatchVerificationRequest.MAX_CODES), maxClients);
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialConcurrency, minConcurrency, maxConcurrency);
+        this.rateLimited = shedCounter(meterRegistry, "rate_limit");
+        this.batchCodesLimited = shedCounter(meterRegistry, "batch_codes");
+        this.concurrencyShed = shedCounter(meterRegistry, "concurrency");
+        Gauge.builder("verify.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for verification")
+                .register(meterRegistry);
+        Gauge.builder("verify.concurrency.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Verification requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("verify.rate_limit.clients", rateLimiter, ClientRateLimiter::size)
+                .description("Clients with a partly used token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!enabled) {
+            return true;
+        }
+        long wait = rateLimiter.tryAcquire(ClientAddress.of(request));
+        if (wait > 0) {
+            rateLimited.increment();
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(wait) + 1);
+            return false;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyShed.increment();
+            reject(response, 1);
+            return false;
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Charges one token per code of a batch verification to the client's batch bucket.
+     *
+     * @throws RateLimitExceededException when the client's batch allowance is used up
+     */
+    public void acquireBatch(HttpServletRequest request, int codes) {
+        if (!enabled) {
+            return;
+        }
+        long wait = batchCodeLimiter.tryAcquire(ClientAddress.of(request), codes);
+        if (wait > 0) {
+            batchCodesLimited.increment();
+            throw new RateLimitExceededException(TimeUnit.NANOSECONDS.toSeconds(wait) + 1);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED) instanceof Long started) {
+            concurrencyLimit.release(System.nanoTime() - started);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.verify.eviction-interval-ms:30000}")
+    public void evictIdleClients() {
+        rateLimiter.evictIdle();
+        batchCodeLimiter.evictIdle();
+    }
+
+    private static Counter shedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("verify.shed")
+                .description("Verification requests refused with 429")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+}
@@ -0,0 +1,419 @@
+package com.examly.springapp.render;
+
+import com.examly.springapp.dto.ArtifactStoreStats;
+import com.examly.springapp.dto.CertificateRenderData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rendered certificates on local disk, content-addressed by a hash of everything that
+ * appears on the document (certificate fields, status, template id and version, format).
+ * Any change produces a new key, so a stored file never goes stale in place; revocations and
+ * template edits additionally delete the superseded files eagerly.
+ *
+ * <p>Files live at {@code <root>/<certificateId % 256>/<certificateId>-<templateId>-<hash>.<ext>}.
+ * An in-memory index in access order tracks their sizes and evicts the least recently used
+ * files once the total exceeds {@code max-bytes}. The index is rebuilt from the directory on
+ * startup, oldest modification first.
+ *
+ * <p>An {@link Artifact} is a lease: its file stays on disk until the lease is closed.
+ * Eviction passes over leased entries, and invalidation only unlists them, leaving the file
+ * for {@link #sweepRetired} to delete once the last reader is done. Tomcat opens a sendfile
+ * response's file only after the servlet returns, so a released file is also kept for
+ * {@link #RELEASE_GRACE_NANOS} before it may go.
+ */
+@Component
+@Slf4j
+public class ArtifactStore {
+
+    // Bump when the rendered output changes for the same inputs, e.g. a new default layout
+    private static final String LAYOUT_REVISION = "3";
+
+    static final long RELEASE_GRACE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+)-(\\d+)-([0-9a-f]{32})\\.(\\w+)");
+
+    private final Path root;
+    private final long maxBytes;
+    // Guarded by this
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+    // Unlisted while still leased; guarded by this
+    private final List<Entry> retired = new ArrayList<>();
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    public ArtifactStore(@Value("${app.render.output-dir:artifacts}") String root,
+                         @Value("${app.render.artifacts.max-bytes:1073741824}") long maxBytes) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(root);
+        List<Loaded> found = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(Files::isRegularFile).forEach(path -> {
+                // Left behind by a render interrupted by shutdown
+                if (path.getFileName().toString().startsWith(".render-")) {
+                    delete(path);
+                    return;
+                }
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (!matcher.matches()) {
+                    return;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    found.add(new Loaded(new Entry(matcher.group(3), Long.parseLong(matcher.group(1)),
+                            Long.parseLong(matcher.group(2)), path, attributes.size()),
+                            attributes.lastModifiedTime().toMillis()));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable artifact {}: {}", path, e.getMessage());
+                }
+            });
+        }
+        found.sort(Comparator.comparingLong(Loaded::lastModified));
+        List<Path> evicted;
+        synchronized (this) {
+            for (Loaded loaded : found) {
+                index.put(loaded.entry().key, loaded.entry());
+                totalBytes += loaded.entry().size;
+            }
+            evicted = evict();
+        }
+        evicted.forEach(ArtifactStore::delete);
+        log.info("Artifact store at {}: {} files, {} bytes", root, index.size(), totalBytes);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns a lease on the stored artifact, rendering it first when absent. Concurrent
+     * requests for the same artifact wait for a single render, then take their own lease.
+     * {@code variant} captures inputs outside the certificate data, such as the signing key.
+     * The caller must close the lease once it has read the file.
+     */
+    public Artifact getOrRender(CertificateRenderData data, RenderFormat format, String variant, RenderTask task) {
+        String key = key(data, format, variant);
+        Path path = path(data, key, format);
+        while (true) {
+            Artifact stored = lookup(key, path, format);
+            if (stored != null) {
+                return stored;
+            }
+
+            CompletableFuture<Void> rendering = new CompletableFuture<>();
+            CompletableFuture<Void> inProgress = pending.putIfAbsent(key, rendering);
+            if (inProgress == null) {
+                try {
+                    Artifact artifact = write(key, data, path, format, task);
+                    rendering.complete(null);
+                    return artifact;
+                } catch (RuntimeException e) {
+                    rendering.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    pending.remove(key);
+                }
+            }
+            try {
+                inProgress.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+
+    public void invalidateCertificate(Long certificateId) {
+        remove(entry -> entry.certificateId.equals(certificateId));
+    }
+
+    public void invalidateTemplate(Long templateId) {
+        remove(entry -> entry.templateId.equals(templateId));
+    }
+
+    /**
+     * Deletes unlisted files whose last lease has been released for the grace period, and
+     * evicts what eviction had to pass over while it was leased.
+     */
+    @Scheduled(fixedDelayString = "${app.render.artifacts.sweep-interval-ms:5000}")
+    public void sweepRetired() {
+        List<Path> free = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            Iterator<Entry> entries = retired.iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (!entry.busy(now)) {
+                    entries.remove();
+                    // Rendered again under the same key meanwhile; the file is live again
+                    if (!index.containsKey(entry.key)) {
+                        free.add(entry.path);
+                    }
+                }
+            }
+            free.addAll(evict());
+        }
+        free.forEach(ArtifactStore::delete);
+    }
+
+    public synchronized ArtifactStoreStats stats() {
+        return new ArtifactStoreStats(root.toString(), index.size(), totalBytes, maxBytes);
+    }
+
+    private Artifact lookup(String key, Path path, RenderFormat format) {
+        Entry entry;
+        synchronized (this) {
+            entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            entry.readers++;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new Artifact(this, entry, format, attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            // Deleted behind our back; forget it and render again
+            synchronized (this) {
+                entry.readers--;
+                if (index.remove(key, entry)) {
+                    totalBytes -= entry.size;
+                }
+            }
+            return null;
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.readers--;
+        entry.releasedAt = System.nanoTime();
+    }
+
+    private Artifact write(String key, CertificateRenderData data, Path path, RenderFormat format, RenderTask task) {
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), ".render-", ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                    task.render(out);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Long templateId = data.templateId() != null ? data.templateId() : 0L;
+            Entry entry = new Entry(key, data.id(), templateId, path, attributes.size());
+            // Leased before eviction runs, so an artifact larger than the quota is still served
+            entry.readers = 1;
+            List<Path> evicted;
+            synchronized (this) {
+                Entry previous = index.put(key, entry);
+                totalBytes += attributes.size() - (previous != null ? previous.size : 0);
+                evicted = evict();
+            }
+            evicted.forEach(ArtifactStore::delete);
+            return new Artifact(this, entry, format, attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store certificate " + data.id(), e);
+        }
+    }
+
+    private void remove(Predicate<Entry> predicate) {
+        List<Path> removed = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            Iterator<Entry> entries = index.values().iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (predicate.test(entry)) {
+                    entries.remove();
+                    totalBytes -= entry.size;
+                    if (entry.busy(now)) {
+                        retired.add(entry);
+                    } else {
+                        removed.add(entry.path);
+                    }
+                }
+            }
+        }
+        removed.forEach(ArtifactStore::delete);
+    }
+
+    /**
+     * Drops least recently used entries until the store fits its quota, passing over leased
+     * ones. The caller holds the lock and deletes the returned files after releasing it.
+     */
+    private List<Path> evict() {
+        List<Path> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Entry> entries = index.values().iterator();
+        while (totalBytes > maxBytes && entries.hasNext()) {
+            Entry eldest = entries.next();
+            if (eldest.busy(now)) {
+                continue;
+            }
+            entries.remove();
+            totalBytes -= eldest.size;
+            evicted.add(eldest.path);
+        }
+        return evicted;
+    }
+
+    private Path path(CertificateRenderData data, String key, RenderFormat format) {
+        long templateId = data.templateId() != null ? data.templateId() : 0L;
+        return root.resolve(String.format("%02x", data.id() & 0xff))
+                .resolve(data.id() + "-" + templateId + "-" + key + "." + format.getExtension());
+    }
+
+    static String key(CertificateRenderData data, RenderFormat format, String variant) {
+        String content = String.join("\u0000",
+                LAYOUT_REVISION,
+                String.valueOf(variant),
+                String.valueOf(data.id()),
+                String.valueOf(data.certificateNumber()),
+                String.valueOf(data.verificationCode()),
+                String.valueOf(data.issueDate()),
+                String.valueOf(data.status()),
+                String.valueOf(data.recipientName()),
+                String.valueOf(data.courseName()),
+                String.valueOf(data.templateId()),
+                String.valueOf(data.templateVersion()),
+                format.name());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete artifact {}: {}", path, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface RenderTask {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A leased stored file. Closing the lease lets the store evict or delete the file again;
+     * closing more than once has no further effect.
+     */
+    public static final class Artifact implements AutoCloseable {
+        private final ArtifactStore store;
+        private final Entry entry;
+        private final RenderFormat format;
+        private final long lastModified;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Artifact(ArtifactStore store, Entry entry, RenderFormat format, long lastModified) {
+            this.store = store;
+            this.entry = entry;
+            this.format = format;
+            this.lastModified = lastModified;
+        }
+
+        public String key() {
+            return entry.key;
+        }
+
+        public Path path() {
+            return entry.path;
+        }
+
+        public long size() {
+            return entry.size;
+        }
+
+        public long lastModified() {
+            return lastModified;
+        }
+
+        public RenderFormat format() {
+            return format;
+        }
+
+        public String etag() {
+            return "\"" + entry.key + "\"";
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                store.release(entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final Long certificateId;
+        private final Long templateId;
+        private final Path path;
+        private final long size;
+        // Guarded by the store
+        private int readers;
+        private long releasedAt = System.nanoTime() - RELEASE_GRACE_NANOS;
+
+        Entry(String key, Long certificateId, Long templateId, Path path, long size) {
+            this.key = key;
+            this.certificateId = certificateId;
+            this.templateId = templateId;
+            this.path = path;
+            this.size = size;
+        }
+
+        boolean busy(long now) {
+            return readers > 0 || now - releasedAt < RELEASE_GRACE_NANOS;
+        }
+    }
+
+    private record Loaded(Entry entry, long lastModified) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.examly.springapp.render;
+
+/**
+ * Per-certificate values substituted into a compiled template.
+ */
+public record CertificateFields(
+        String recipientName,
+        String courseName,
+        String issueDate,
+        String verificationCode,
+        String certificateNumber,
+        String status,
+        // Signed token carried in the QR code for offline verification
+        String verificationToken
+) {
+    String get(Placeholder placeholder) {
+        return switch (placeholder) {
+            case RECIPIENT_NAME -> recipientName;
+            case COURSE_NAME -> courseName;
+            case ISSUE_DATE -> issueDate;
+            case VERIFICATION_CODE -> verificationCode;
+            case CERTIFICATE_NUMBER -> certificateNumber;
+            case STATUS -> status;
+        };
+    }
+
+    enum Placeholder {
+        RECIPIENT_NAME("recipientName"),
+        COURSE_NAME("courseName"),
+        ISSUE_DATE("issueDate"),
+        VERIFICATION_CODE("verificationCode"),
+        CERTIFICATE_NUMBER("certificateNumber"),
+        STATUS("status");
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+
+        static Placeholder fromToken(String token) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.token.equals(token)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.examly.springapp.render;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Immutable, pre-parsed certificate design. Fonts, colors and images are resolved when
+ * the template is compiled; rendering only substitutes fields and draws.
+ */
+public final class CompiledTemplate {
+
+    private final int width;
+    private final int height;
+    private final Color background;
+    private final BufferedImage backgroundImage;
+    private final List<Element> elements;
+
+    CompiledTemplate(int width, int height, Color background, BufferedImage backgroundImage, List<Element> elements) {
+        this.width = width;
+        this.height = height;
+        this.background = background;
+        this.backgroundImage = backgroundImage;
+        this.elements = List.copyOf(elements);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public BufferedImage render(CertificateFields fields) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            g.setColor(background);
+            g.fillRect(0, 0, width, height);
+            if (backgroundImage != null) {
+                g.drawImage(backgroundImage, 0, 0, null);
+            }
+            for (Element element : elements) {
+                element.draw(g, fields);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    interface Element {
+        void draw(Graphics2D g, CertificateFields fields);
+    }
+
+    enum Align {
+        LEFT, CENTER, RIGHT
+    }
+
+    /**
+     * A text fragment: literal text when {@code placeholder} is null, a field otherwise.
+     */
+    record Segment(String literal, CertificateFields.Placeholder placeholder) {
+        String resolve(CertificateFields fields) {
+            if (placeholder == null) {
+                return literal;
+            }
+            String value = fields.get(placeholder);
+            return value != null ? value : "";
+        }
+    }
+
+    record TextElement(List<Segment> segments, Font font, Color color, int x, int y, Align align, int maxWidth)
+            implements Element {
+        @Override
+        public void draw(Graphics2D g, CertificateFields fields) {
+            StringBuilder text = new StringBuilder();
+            for (Segment segment : segments) {
+                text.append(segment.resolve(fields));
+            }
+            String value = text.toString();
+
+            Font drawFont = font;
+            g.setFont(drawFont);
+            FontMetrics metrics = g.getFontMetrics();
+            int textWidth = metrics.stringWidth(value);
+            // Long names shrink to fit instead of running off the page
+            if (maxWidth > 0 && textWidth > maxWidth) {
+                drawFont = font.deriveFont(font.getSize2D() * maxWidth / textWidth);
+                g.setFont(drawFont);
+                textWidth = g.getFontMetrics().stringWidth(value);
+            }
+
+            int drawX = switch (align) {
+                case LEFT -> x;
+                case CENTER -> x - textWidth / 2;
+                case RIGHT -> x - textWidth;
+            };
+            g.setColor(color);
+            g.drawString(value, drawX, y);
+        }
+    }
+
+    record ImageElement(BufferedImage image, int x, int y) implements Element {
+        @Override
+        public void draw(Graphics2D g, CertificateFields fields) {
+            g.drawImage(image, x, y, null);
+        }
+    }
+
+    record QrElement(QrCodeGenerator generator, int x, int y, int size, Color color) implements Element {
+        @Override
+        public void draw(Graphics2D g, CertificateFields fields) {
+            if (fields.verificationCode() != null) {
+                generator.forVerification(fields.verificationCode(), fields.verificationToken()).draw(g, x, y, size, color);
+            }
+        }
+    }
+
+    record RectElement(int x, int y, int width, int height, Color fill, Color stroke, float strokeWidth)
+            implements Element {
+        @Override
+        public void draw(Graphics2D g, CertificateFields fields) {
+            if (fill != null) {
+                g.setColor(fill);
+                g.fillRect(x, y, width, height);
+            }
+            if (stroke != null && strokeWidth > 0) {
+                g.setColor(stroke);
+                g.setStroke(new BasicStroke(strokeWidth));
+                g.drawRect(x, y, width, height);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.examly.springapp.render;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a single-page PDF whose page is the rendered certificate image. The page is sized
+ * so the image prints at 96 dpi; pixels are stored as a Flate-compressed RGB image XObject.
+ */
+final class PdfImageWriter {
+
+    private static final double POINTS_PER_PIXEL = 72.0 / 96.0;
+
+    private PdfImageWriter() {
+    }
+
+    static void write(BufferedImage image, OutputStream out) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] pixels = deflatedRgb(image);
+        String pageWidth = format(width * POINTS_PER_PIXEL);
+        String pageHeight = format(height * POINTS_PER_PIXEL);
+        byte[] content = ("q " + pageWidth + " 0 0 " + pageHeight + " 0 0 cm /Im0 Do Q\n").getBytes(StandardCharsets.US_ASCII);
+
+        CountingWriter pdf = new CountingWriter(out);
+        List<Long> offsets = new ArrayList<>();
+        pdf.ascii("%PDF-1.4\n%âãÏÓ\n");
+
+        offsets.add(pdf.position);
+        pdf.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+        offsets.add(pdf.position);
+        pdf.ascii("2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n");
+        offsets.add(pdf.position);
+        pdf.ascii("3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + pageWidth + " " + pageHeight + "]"
+                + " /Resources << /XObject << /Im0 4 0 R >> >> /Contents 5 0 R >>\nendobj\n");
+        offsets.add(pdf.position);
+        pdf.ascii("4 0 obj\n<< /Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+                + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Filter /FlateDecode /Length " + pixels.length
+                + " >>\nstream\n");
+        pdf.bytes(pixels);
+        pdf.ascii("\nendstream\nendobj\n");
+        offsets.add(pdf.position);
+        pdf.ascii("5 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+        pdf.bytes(content);
+        pdf.ascii("endstream\nendobj\n");
+
+        long xref = pdf.position;
+        StringBuilder table = new StringBuilder("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            table.append(String.format("%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        pdf.ascii(table.toString());
+        out.flush();
+    }
+
+    private static byte[] deflatedRgb(BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height);
+        int[] row = new int[width];
+        byte[] rgb = new byte[width * 3];
+        Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(buffer, compressor, 64 * 1024)) {
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0, i = 0; x < width; x++) {
+                    int pixel = row[x];
+                    rgb[i++] = (byte) (pixel >> 16);
+                    rgb[i++] = (byte) (pixel >> 8);
+                    rgb[i++] = (byte) pixel;
+                }
+                deflater.write(rgb);
+            }
+        } finally {
+            compressor.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static final class CountingWriter {
+        private final OutputStream out;
+        private long position;
+
+        CountingWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void ascii(String value) throws IOException {
+            bytes(value.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        void bytes(byte[] value) throws IOException {
+            out.write(value);
+            position += value.length;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.examly.springapp.render;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.BitSet;
+
+/**
+ * Immutable QR module matrix. Output methods add the standard four-module quiet zone.
+ */
+public final class QrCode {
+
+    public static final int QUIET_ZONE = 4;
+
+    private final int size;
+    private final BitSet modules;
+
+    QrCode(int size, BitSet modules) {
+        this.size = size;
+        this.modules = (BitSet) modules.clone();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isDark(int x, int y) {
+        return modules.get(y * size + x);
+    }
+
+    /**
+     * Draws the code, including its quiet zone, centred in a {@code width}-pixel square.
+     * Modules are whole pixels so every module has the same size.
+     */
+    public void draw(Graphics2D g, int x, int y, int width, Color color) {
+        int total = size + 2 * QUIET_ZONE;
+        int module = Math.max(1, width / total);
+        int origin = (width - module * total) / 2 + QUIET_ZONE * module;
+        g.setColor(Color.WHITE);
+        g.fillRect(x, y, width, width);
+        g.setColor(color);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (isDark(col, row)) {
+                    g.fillRect(x + origin + col * module, y + origin + row * module, module, module);
+                }
+            }
+        }
+    }
+
+    public void writePng(int moduleSize, OutputStream out) throws IOException {
+        int width = (size + 2 * QUIET_ZONE) * moduleSize;
+        BufferedImage image = new BufferedImage(width, width, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g = image.createGraphics();
+        try {
+            draw(g, 0, 0, width, Color.BLACK);
+        } finally {
+            g.dispose();
+        }
+        ImageIO.write(image, "png", out);
+    }
+
+    /**
+     * Scalable rendering: one path made of a unit square per dark module.
+     */
+    public String toSvg() {
+        int total = size + 2 * QUIET_ZONE;
+        StringBuilder svg = new StringBuilder(size * size * 4)
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ").append(total).append(' ').append(total)
+                .append("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (isDark(col, row)) {
+                    svg.append('M').append(col + QUIET_ZONE).append(' ').append(row + QUIET_ZONE).append("h1v1h-1z");
+                }
+            }
+        }
+        return svg.append("\"/></svg>").toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.examly.springapp.render;
+
+import com.examly.springapp.dto.CacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Encodes verification links as QR codes locally. The link carries the certificate's signed
+ * token as {@code ?t=}, so a scanner can verify offline or follow the link online. Encoded
+ * matrices are kept in a bounded LRU cache keyed by link, so certificates that are downloaded
+ * often are not re-encoded.
+ */
+@Component
+public class QrCodeGenerator implements MeterBinder {
+
+    public static final String NAME = "qr";
+
+    private static final Map<EncodeHintType, Object> HINTS = Map.of(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
+
+    private final String verifyBaseUrl;
+    private final Cache<String, QrCode> cache;
+
+    public QrCodeGenerator(@Value("${app.qr.verify-base-url:http://localhost:8082}") String verifyBaseUrl,
+                           @Value("${app.qr.cache.maximum-size:10000}") long maximumSize) {
+        this.verifyBaseUrl = verifyBaseUrl.endsWith("/") ? verifyBaseUrl.substring(0, verifyBaseUrl.length() - 1) : verifyBaseUrl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public QrCode forVerification(String verificationCode, String token) {
+        return cache.get(verificationUrl(verificationCode, token), QrCodeGenerator::encode);
+    }
+
+    public String verificationUrl(String verificationCode, String token) {
+        String url = verifyBaseUrl + "/api/verify/" + verificationCode;
+        return token != null ? url + "?t=" + token : url;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+        return new CacheStats(NAME, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    static QrCode encode(String content) {
+        try {
+            ByteMatrix matrix = Encoder.encode(content, ErrorCorrectionLevel.M, HINTS).getMatrix();
+            int size = matrix.getWidth();
+            BitSet modules = new BitSet(size * size);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (matrix.get(x, y) == 1) {
+                        modules.set(y * size + x);
+                    }
+                }
+            }
+            return new QrCode(size, modules);
+        } catch (WriterException e) {
+            throw new RuntimeException("Failed to encode QR code: " + e.getMessage());
+        }
+    }
+}
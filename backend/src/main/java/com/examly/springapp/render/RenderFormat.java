@@ -0,0 +1,46 @@
+package com.examly.springapp.render;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum RenderFormat {
+    PNG("image/png", "png"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    RenderFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public void write(BufferedImage image, OutputStream out) throws IOException {
+        switch (this) {
+            case PNG -> ImageIO.write(image, "png", out);
+            case PDF -> PdfImageWriter.write(image, out);
+        }
+    }
+
+    public static RenderFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return PDF;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported render format: " + value);
+        }
+    }
+}
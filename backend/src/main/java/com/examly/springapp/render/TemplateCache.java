@@ -0,0 +1,80 @@
+package com.examly.springapp.render;
+
+import com.examly.springapp.config.ThreadingConfig;
+import com.examly.springapp.dto.CacheStats;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Compiled templates keyed by {@code (templateId, version)}. A template's design data is only
+ * read and parsed on a miss; editing the design bumps the version, so stale entries are never
+ * hit again and age out of the cache.
+ * <p>
+ * Compilation reads the design data from the database, so it runs on the
+ * {@link ThreadingConfig#CACHE_LOADER} executor rather than inside the cache's map lock.
+ */
+@Component
+public class TemplateCache implements MeterBinder {
+
+    public static final String NAME = "template";
+
+    /** Key used for courses without a template; they render with the built-in layout. */
+    public static final TemplateKey DEFAULT_KEY = new TemplateKey(0L, 0);
+
+    private final Executor loadExecutor;
+    private final AsyncCache<TemplateKey, CompiledTemplate> cache;
+
+    public TemplateCache(@Value("${app.render.template-cache.maximum-size:256}") long maximumSize,
+                         @Qualifier(ThreadingConfig.CACHE_LOADER) Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public CompiledTemplate get(TemplateKey key, Function<TemplateKey, CompiledTemplate> compiler) {
+        return join(cache.get(key, (templateKey, executor) ->
+                CompletableFuture.supplyAsync(() -> compiler.apply(templateKey), loadExecutor)));
+    }
+
+    public void invalidate(Long templateId) {
+        cache.synchronous().asMap().keySet().removeIf(key -> key.templateId().equals(templateId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), NAME);
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.synchronous().stats();
+        return new CacheStats(NAME, cache.synchronous().estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public record TemplateKey(Long templateId, Integer version) {
+        public static TemplateKey of(Long templateId, Integer version) {
+            return templateId == null ? DEFAULT_KEY : new TemplateKey(templateId, version != null ? version : 1);
+        }
+    }
+}
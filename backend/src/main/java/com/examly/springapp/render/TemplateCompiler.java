@@ -0,0 +1,244 @@
+package com.examly.springapp.render;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns {@code CertificateTemplate.designData} into a {@link CompiledTemplate}.
+ *
+ * <p>The design is a JSON document:
+ * <pre>
+ * {
+ *   "width": 1123, "height": 794, "background": "#ffffff",
+ *   "backgroundImage": "data:image/png;base64,...",
+ *   "elements": [
+ *     {"type": "text", "text": "Awarded to {{recipientName}}", "x": 561, "y": 360,
+ *      "font": "Serif", "style": "bold", "size": 40, "color": "#1f2d3d", "align": "center", "maxWidth": 900},
+ *     {"type": "image", "src": "data:image/png;base64,...", "x": 40, "y": 40, "width": 120, "height": 120},
+ *     {"type": "rect", "x": 20, "y": 20, "width": 1083, "height": 754, "stroke": "#c9a227", "strokeWidth": 6},
+ *     {"type": "qr", "x": 500, "y": 610, "size": 120, "color": "#000000"}
+ *   ]
+ * }
+ * </pre>
+ * Text may reference {@code recipientName}, {@code courseName}, {@code issueDate},
+ * {@code verificationCode}, {@code certificateNumber} and {@code status}; a {@code qr} element
+ * encodes the certificate's verification link. Images are only
+ * accepted as data URIs so compiling a template never touches the network or file system.
+ * Blank or non-JSON design data falls back to the built-in layout, with any free text
+ * shown as a subtitle.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateCompiler {
+
+    private static final int DEFAULT_WIDTH = 1123;
+    private static final int DEFAULT_HEIGHT = 794;
+    private static final int MAX_DIMENSION = 4000;
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*(\\w+)\\s*}}");
+
+    private final ObjectMapper objectMapper;
+    private final QrCodeGenerator qrCodeGenerator;
+
+    public CompiledTemplate compile(String designData) {
+        if (designData == null || designData.isBlank()) {
+            return defaultTemplate(null);
+        }
+        JsonNode design;
+        try {
+            design = objectMapper.readTree(designData);
+        } catch (JsonProcessingException e) {
+            design = null;
+        }
+        if (design == null || !design.isObject()) {
+            return defaultTemplate(designData.strip());
+        }
+
+        int width = dimension(design, "width", DEFAULT_WIDTH);
+        int height = dimension(design, "height", DEFAULT_HEIGHT);
+        Color background = color(design.path("background").asText(null), Color.WHITE);
+        BufferedImage backgroundImage = design.hasNonNull("backgroundImage")
+                ? scaled(decodeImage(design.get("backgroundImage").asText()), width, height)
+                : null;
+
+        List<CompiledTemplate.Element> elements = new ArrayList<>();
+        for (JsonNode node : design.path("elements")) {
+            String type = node.path("type").asText("text").toLowerCase(Locale.ROOT);
+            switch (type) {
+                case "text" -> elements.add(text(node));
+                case "image" -> elements.add(image(node));
+                case "rect" -> elements.add(rect(node));
+                case "qr" -> elements.add(qr(node));
+                default -> throw new RuntimeException("Unsupported template element type: " + type);
+            }
+        }
+        return new CompiledTemplate(width, height, background, backgroundImage, elements);
+    }
+
+    private CompiledTemplate defaultTemplate(String subtitle) {
+        int centre = DEFAULT_WIDTH / 2;
+        Color ink = new Color(0x1f2d3d);
+        Color muted = new Color(0x5f6b7a);
+        Color gold = new Color(0xc9a227);
+        List<CompiledTemplate.Element> elements = new ArrayList<>();
+        elements.add(new CompiledTemplate.RectElement(24, 24, DEFAULT_WIDTH - 48, DEFAULT_HEIGHT - 48, null, gold, 6f));
+        elements.add(new CompiledTemplate.RectElement(40, 40, DEFAULT_WIDTH - 80, DEFAULT_HEIGHT - 80, null, gold, 1.5f));
+        elements.add(text("Certificate of Completion", "Serif", Font.BOLD, 52, ink, centre, 190, 0));
+        if (subtitle != null && !subtitle.isEmpty()) {
+            elements.add(text(subtitle, "SansSerif", Font.ITALIC, 20, muted, centre, 240, 900));
+        }
+        elements.add(text("This is to certify that", "SansSerif", Font.PLAIN, 24, muted, centre, 300, 0));
+        elements.add(text("{{recipientName}}", "Serif", Font.BOLD, 46, ink, centre, 375, 900));
+        elements.add(text("has successfully completed", "SansSerif", Font.PLAIN, 24, muted, centre, 440, 0));
+        elements.add(text("{{courseName}}", "Serif", Font.BOLD, 34, ink, centre, 505, 900));
+        elements.add(text("Issued {{issueDate}}", "SansSerif", Font.PLAIN, 20, muted, centre, 570, 0));
+        elements.add(new CompiledTemplate.QrElement(qrCodeGenerator, centre - 80, 588, 160, ink));
+        elements.add(new CompiledTemplate.TextElement(segments("Certificate No. {{certificateNumber}}"),
+                new Font("Monospaced", Font.PLAIN, 16), muted, 80, 700, CompiledTemplate.Align.LEFT, 0));
+        elements.add(new CompiledTemplate.TextElement(segments("Verification code {{verificationCode}}"),
+                new Font("Monospaced", Font.PLAIN, 16), muted, DEFAULT_WIDTH - 80, 700, CompiledTemplate.Align.RIGHT, 0));
+        return new CompiledTemplate(DEFAULT_WIDTH, DEFAULT_HEIGHT, Color.WHITE, null, elements);
+    }
+
+    private CompiledTemplate.TextElement text(String text, String family, int style, int size, Color color,
+                                              int x, int y, int maxWidth) {
+        return new CompiledTemplate.TextElement(segments(text), new Font(family, style, size), color, x, y,
+                CompiledTemplate.Align.CENTER, maxWidth);
+    }
+
+    private CompiledTemplate.TextElement text(JsonNode node) {
+        int style = switch (node.path("style").asText("plain").toLowerCase(Locale.ROOT)) {
+            case "bold" -> Font.BOLD;
+            case "italic" -> Font.ITALIC;
+            case "bold-italic", "bolditalic" -> Font.BOLD | Font.ITALIC;
+            default -> Font.PLAIN;
+        };
+        Font font = new Font(node.path("font").asText("SansSerif"), style, node.path("size").asInt(24));
+        CompiledTemplate.Align align = switch (node.path("align").asText("left").toLowerCase(Locale.ROOT)) {
+            case "center", "centre" -> CompiledTemplate.Align.CENTER;
+            case "right" -> CompiledTemplate.Align.RIGHT;
+            default -> CompiledTemplate.Align.LEFT;
+        };
+        return new CompiledTemplate.TextElement(segments(node.path("text").asText("")), font,
+                color(node.path("color").asText(null), Color.BLACK),
+                node.path("x").asInt(0), node.path("y").asInt(0), align, node.path("maxWidth").asInt(0));
+    }
+
+    private CompiledTemplate.ImageElement image(JsonNode node) {
+        BufferedImage source = decodeImage(node.path("src").asText(""));
+        int width = node.path("width").asInt(source.getWidth());
+        int height = node.path("height").asInt(source.getHeight());
+        return new CompiledTemplate.ImageElement(scaled(source, width, height),
+                node.path("x").asInt(0), node.path("y").asInt(0));
+    }
+
+    private CompiledTemplate.QrElement qr(JsonNode node) {
+        return new CompiledTemplate.QrElement(qrCodeGenerator, node.path("x").asInt(0), node.path("y").asInt(0),
+                node.path("size").asInt(120), color(node.path("color").asText(null), Color.BLACK));
+    }
+
+    private CompiledTemplate.RectElement rect(JsonNode node) {
+        return new CompiledTemplate.RectElement(node.path("x").asInt(0), node.path("y").asInt(0),
+                node.path("width").asInt(0), node.path("height").asInt(0),
+                color(node.path("fill").asText(null), null),
+                color(node.path("stroke").asText(null), null),
+                (float) node.path("strokeWidth").asDouble(1));
+    }
+
+    /**
+     * Splits text into literal and placeholder segments once, so rendering is plain concatenation.
+     * Unknown placeholders are kept as literal text.
+     */
+    static List<CompiledTemplate.Segment> segments(String text) {
+        List<CompiledTemplate.Segment> segments = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            CertificateFields.Placeholder placeholder = CertificateFields.Placeholder.fromToken(matcher.group(1));
+            if (placeholder == null) {
+                continue;
+            }
+            if (matcher.start() > last) {
+                segments.add(new CompiledTemplate.Segment(text.substring(last, matcher.start()), null));
+            }
+            segments.add(new CompiledTemplate.Segment(null, placeholder));
+            last = matcher.end();
+        }
+        if (last < text.length()) {
+            segments.add(new CompiledTemplate.Segment(text.substring(last), null));
+        }
+        return segments;
+    }
+
+    private static int dimension(JsonNode design, String field, int defaultValue) {
+        int value = design.path(field).asInt(defaultValue);
+        if (value <= 0 || value > MAX_DIMENSION) {
+            throw new RuntimeException("Template " + field + " must be between 1 and " + MAX_DIMENSION);
+        }
+        return value;
+    }
+
+    private static Color color(String value, Color defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Color.decode(value.strip());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid template color: " + value);
+        }
+    }
+
+    private static BufferedImage decodeImage(String dataUri) {
+        int comma = dataUri.indexOf(',');
+        if (!dataUri.startsWith("data:image/") || comma < 0 || !dataUri.substring(0, comma).endsWith(";base64")) {
+            throw new RuntimeException("Template images must be base64 data URIs");
+        }
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(dataUri.substring(comma + 1))));
+            if (image == null) {
+                throw new RuntimeException("Unsupported template image format");
+            }
+            return image;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid template image: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scales once at compile time so per-certificate rendering is a straight blit.
+     */
+    private static BufferedImage scaled(BufferedImage source, int width, int height) {
+        if (source.getWidth() == width && source.getHeight() == height) {
+            return source;
+        }
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
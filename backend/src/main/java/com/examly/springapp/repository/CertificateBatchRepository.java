@@ -0,0 +1,69 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.entity.Certificate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Plain JDBC access for bulk certificate work. Certificate ids are IDENTITY generated, which
+ * stops Hibernate from batching inserts, so cohorts are written with JdbcTemplate instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CertificateBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO certificates (certificate_number, verification_code, course_id, recipient_id, issue_date, status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String VERIFICATION_CODES_SQL = "SELECT id, verification_code FROM certificates WHERE id > ? ORDER BY id";
+
+    private static final String ID_STATUS_SQL = "SELECT id, status FROM certificates ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcRepositoryTimer timer;
+
+    public void insertAll(List<Certificate> certificates, int batchSize) {
+        timer.record(CertificateBatchRepository.class, "insertAll", () ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, certificates, batchSize, (ps, certificate) -> {
+                    ps.setString(1, certificate.getCertificateNumber());
+                    ps.setString(2, certificate.getVerificationCode());
+                    ps.setLong(3, certificate.getCourse().getId());
+                    ps.setLong(4, certificate.getRecipient().getId());
+                    ps.setTimestamp(5, Timestamp.valueOf(certificate.getIssueDate()));
+                    ps.setString(6, certificate.getStatus().name());
+                }));
+    }
+
+    /**
+     * Streams the id and verification code of every certificate above {@code afterId}, in id
+     * order, without materializing the table.
+     */
+    public void forEachVerificationCode(long afterId, BiConsumer<Long, String> consumer) {
+        timer.record(CertificateBatchRepository.class, "forEachVerificationCode", () ->
+                jdbcTemplate.query(con -> {
+                    var ps = con.prepareStatement(VERIFICATION_CODES_SQL);
+                    ps.setLong(1, afterId);
+                    ps.setFetchSize(1000);
+                    return ps;
+                }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2))));
+    }
+
+    /**
+     * Streams every certificate id with its status, in id order.
+     */
+    public void forEachIdAndStatus(BiConsumer<Long, Certificate.CertificateStatus> consumer) {
+        timer.record(CertificateBatchRepository.class, "forEachIdAndStatus", () ->
+                jdbcTemplate.query(con -> {
+                    var ps = con.prepareStatement(ID_STATUS_SQL);
+                    ps.setFetchSize(1000);
+                    return ps;
+                }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), Certificate.CertificateStatus.valueOf(rs.getString(2)))));
+    }
+}
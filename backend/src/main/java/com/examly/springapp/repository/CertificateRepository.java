@@ -1,15 +1,54 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.CertificateRenderData;
+import com.examly.springapp.dto.CertificateSummary;
+import com.examly.springapp.dto.VerificationResult;
 import com.examly.springapp.entity.Certificate;
-import com.examly.springapp.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CertificateRepository extends JpaRepository<Certificate, Long> {
+public interface CertificateRepository extends JpaRepository<Certificate, Long>, CertificateRepositoryCustom {
     Optional<Certificate> findByVerificationCode(String verificationCode);
-    List<Certificate> findByRecipient(User recipient);
+
+    @Query("select new com.examly.springapp.dto.VerificationResult(c.id, c.certificateNumber, c.verificationCode, "
+            + "co.courseName, r.fullName, c.issueDate, c.status) "
+            + "from Certificate c join c.course co join c.recipient r where c.verificationCode = :verificationCode")
+    Optional<VerificationResult> findVerificationResult(@Param("verificationCode") String verificationCode);
+
+    @Query("select new com.examly.springapp.dto.VerificationResult(c.id, c.certificateNumber, c.verificationCode, "
+            + "co.courseName, r.fullName, c.issueDate, c.status) "
+            + "from Certificate c join c.course co join c.recipient r where c.verificationCode in :verificationCodes")
+    List<VerificationResult> findVerificationResults(@Param("verificationCodes") Collection<String> verificationCodes);
+
+    @Query("select new com.examly.springapp.dto.CertificateSummary(c.id, c.certificateNumber, c.verificationCode, "
+            + "co.id, co.courseName, r.id, r.fullName, r.email, c.issueDate, c.status) "
+            + "from Certificate c join c.course co join c.recipient r where r.id = :recipientId order by c.id")
+    List<CertificateSummary> findSummariesByRecipientId(@Param("recipientId") Long recipientId);
+
+    @Query("select new com.examly.springapp.dto.CertificateRenderData(c.id, c.certificateNumber, c.verificationCode, "
+            + "c.issueDate, c.status, r.id, r.fullName, co.courseName, t.id, t.version) "
+            + "from Certificate c join c.course co join c.recipient r left join co.certificateTemplate t where c.id = :id")
+    Optional<CertificateRenderData> findRenderData(@Param("id") Long id);
+
+    @Query("select new com.examly.springapp.dto.CertificateRenderData(c.id, c.certificateNumber, c.verificationCode, "
+            + "c.issueDate, c.status, r.id, r.fullName, co.courseName, t.id, t.version) "
+            + "from Certificate c join c.course co join c.recipient r left join co.certificateTemplate t "
+            + "where co.id = :courseId and c.id > :after order by c.id")
+    List<CertificateRenderData> findRenderDataByCourse(@Param("courseId") Long courseId, @Param("after") Long after, Limit limit);
+
+    long countByCourseId(Long courseId);
+
+    @Query("select c.status from Certificate c where c.id = :id")
+    Optional<Certificate.CertificateStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select c.recipient.id from Certificate c where c.course.id = :courseId and c.recipient.id in :recipientIds")
+    List<Long> findRecipientIdsByCourse(@Param("courseId") Long courseId, @Param("recipientIds") Collection<Long> recipientIds);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.CertificateSummary;
+
+import java.util.List;
+
+public interface CertificateRepositoryCustom {
+    /**
+     * Keyset page ordered by id: rows with id greater than {@code after} that match the
+     * filter, projected together with course and recipient in a single query.
+     */
+    List<CertificateSummary> findPage(CertificateFilter filter, long after, int limit);
+}
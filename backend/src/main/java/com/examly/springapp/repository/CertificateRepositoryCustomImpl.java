@@ -0,0 +1,69 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.CertificateSummary;
+import com.examly.springapp.entity.Certificate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CertificateRepositoryCustomImpl implements CertificateRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CertificateSummary> findPage(CertificateFilter filter, long after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CertificateSummary> query = cb.createQuery(CertificateSummary.class);
+        Root<Certificate> certificate = query.from(Certificate.class);
+        Join<?, ?> course = certificate.join("course");
+        Join<?, ?> recipient = certificate.join("recipient");
+
+        query.select(cb.construct(CertificateSummary.class,
+                        certificate.get("id"),
+                        certificate.get("certificateNumber"),
+                        certificate.get("verificationCode"),
+                        course.get("id"),
+                        course.get("courseName"),
+                        recipient.get("id"),
+                        recipient.get("fullName"),
+                        recipient.get("email"),
+                        certificate.get("issueDate"),
+                        certificate.get("status")))
+                .where(predicates(cb, certificate, filter, after).toArray(new Predicate[0]))
+                .orderBy(cb.asc(certificate.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    static List<Predicate> predicates(CriteriaBuilder cb, Root<Certificate> certificate, CertificateFilter filter, long after) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(certificate.get("id"), after));
+        if (filter.getCourseId() != null) {
+            predicates.add(cb.equal(certificate.get("course").get("id"), filter.getCourseId()));
+        }
+        if (filter.getRecipientId() != null) {
+            predicates.add(cb.equal(certificate.get("recipient").get("id"), filter.getRecipientId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(certificate.get("status"), filter.getStatus()));
+        }
+        if (filter.getIssuedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(certificate.get("issueDate"), filter.getIssuedFrom()));
+        }
+        if (filter.getIssuedTo() != null) {
+            predicates.add(cb.lessThan(certificate.get("issueDate"), filter.getIssuedTo()));
+        }
+        return predicates;
+    }
+}
@@ -1,9 +1,23 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.TemplateStamp;
 import com.examly.springapp.entity.CertificateTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CertificateTemplateRepository extends JpaRepository<CertificateTemplate, Long> {
+    List<CertificateTemplate> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select coalesce(t.designData, '') from CertificateTemplate t where t.id = :id and t.version = :version")
+    Optional<String> findDesignData(@Param("id") Long id, @Param("version") Integer version);
+
+    @Query("select new com.examly.springapp.dto.TemplateStamp(t.id, t.version, t.revision) from CertificateTemplate t where t.id = :id")
+    Optional<TemplateStamp> findStampById(@Param("id") Long id);
 }
\ No newline at end of file
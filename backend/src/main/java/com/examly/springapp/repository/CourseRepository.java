@@ -1,9 +1,24 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.CourseStamp;
+import com.examly.springapp.dto.CourseSummary;
 import com.examly.springapp.entity.Course;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @Query("select new com.examly.springapp.dto.CourseSummary(c.id, c.courseName, c.description, c.completionCriteria, t.id, t.name) "
+            + "from Course c left join c.certificateTemplate t where c.id > :after order by c.id")
+    List<CourseSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select new com.examly.springapp.dto.CourseStamp(c.id, c.revision, t.id, t.version, t.revision) "
+            + "from Course c left join c.certificateTemplate t where c.id = :id")
+    Optional<CourseStamp> findStampById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.VerificationLogFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only JDBC cursors over the export tables. The extractor walks the open result set
+ * itself and rows are never collected, so memory use does not depend on the row count.
+ * <p>
+ * MySQL only streams when the URL sets {@code useCursorFetch=true}; otherwise the driver
+ * buffers the whole result regardless of the fetch size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    private static final String CERTIFICATES_SQL =
+            "SELECT c.id, c.certificate_number, c.verification_code, c.course_id, co.course_name, "
+                    + "c.recipient_id, u.full_name AS recipient_name, u.email AS recipient_email, c.issue_date, c.status "
+                    + "FROM certificates c "
+                    + "JOIN courses co ON co.id = c.course_id "
+                    + "JOIN users u ON u.id = c.recipient_id";
+
+    private static final String VERIFICATION_LOGS_SQL =
+            "SELECT l.id, l.certificate_id, c.verification_code, l.verification_result, l.verifier_info, "
+                    + "l.ip_address, l.verification_date "
+                    + "FROM verification_logs l "
+                    + "LEFT JOIN certificates c ON c.id = l.certificate_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcRepositoryTimer timer;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public void streamCertificates(CertificateFilter filter, ResultSetExtractor<?> extractor) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (filter.getCourseId() != null) {
+            conditions.add("c.course_id = ?");
+            params.add(filter.getCourseId());
+        }
+        if (filter.getRecipientId() != null) {
+            conditions.add("c.recipient_id = ?");
+            params.add(filter.getRecipientId());
+        }
+        if (filter.getStatus() != null) {
+            conditions.add("c.status = ?");
+            params.add(filter.getStatus().name());
+        }
+        if (filter.getIssuedFrom() != null) {
+            conditions.add("c.issue_date >= ?");
+            params.add(Timestamp.valueOf(filter.getIssuedFrom()));
+        }
+        if (filter.getIssuedTo() != null) {
+            conditions.add("c.issue_date < ?");
+            params.add(Timestamp.valueOf(filter.getIssuedTo()));
+        }
+        timer.record(ExportRepository.class, "streamCertificates",
+                () -> stream(CERTIFICATES_SQL, conditions, "c.id", params, extractor));
+    }
+
+    public void streamVerificationLogs(VerificationLogFilter filter, ResultSetExtractor<?> extractor) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (filter.getCertificateId() != null) {
+            conditions.add("l.certificate_id = ?");
+            params.add(filter.getCertificateId());
+        }
+        if (filter.getVerificationResult() != null) {
+            conditions.add("l.verification_result = ?");
+            params.add(filter.getVerificationResult());
+        }
+        if (filter.getVerifiedFrom() != null) {
+            conditions.add("l.verification_date >= ?");
+            params.add(Timestamp.valueOf(filter.getVerifiedFrom()));
+        }
+        if (filter.getVerifiedTo() != null) {
+            conditions.add("l.verification_date < ?");
+            params.add(Timestamp.valueOf(filter.getVerifiedTo()));
+        }
+        timer.record(ExportRepository.class, "streamVerificationLogs",
+                () -> stream(VERIFICATION_LOGS_SQL, conditions, "l.id", params, extractor));
+    }
+
+    private void stream(String baseSql, List<String> conditions, String orderBy, List<Object> params, ResultSetExtractor<?> extractor) {
+        String sql = baseSql
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + orderBy;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, extractor);
+    }
+}
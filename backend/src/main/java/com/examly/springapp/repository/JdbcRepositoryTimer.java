@@ -0,0 +1,40 @@
+package com.examly.springapp.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the JdbcTemplate repositories under the meter Spring Data uses for its own,
+ * {@code spring.data.repository.invocations}, with the same tags, so batch and streaming
+ * calls show up next to the JPA repositories instead of going unmeasured.
+ */
+@Component
+@RequiredArgsConstructor
+class JdbcRepositoryTimer {
+
+    private static final String METER = "spring.data.repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    void record(Class<?> repository, String method, Runnable call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "None";
+        try {
+            call.run();
+        } catch (RuntimeException | Error e) {
+            state = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METER)
+                    .tag("repository", repository.getSimpleName())
+                    .tag("method", method)
+                    .tag("state", state)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
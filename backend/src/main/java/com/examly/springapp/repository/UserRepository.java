@@ -1,13 +1,24 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.UserSummary;
 import com.examly.springapp.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("select new com.examly.springapp.dto.UserSummary(u.id, u.fullName, u.email, u.role, u.isActive, u.createdDate) "
+            + "from User u where u.id > :after order by u.id")
+    List<UserSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.entity.VerificationLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Batched JDBC writes for verification logs flushed by the write-behind buffer.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VerificationLogBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO verification_logs (certificate_id, verifier_info, verification_result, ip_address, verification_date) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcRepositoryTimer timer;
+
+    @Transactional
+    public void insertAll(List<VerificationLog> logs) {
+        timer.record(VerificationLogBatchRepository.class, "insertAll", () ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), VerificationLogBatchRepository::bind));
+    }
+
+    /**
+     * Single-row insert, used to salvage a batch that failed as a whole.
+     */
+    public void insert(VerificationLog log) {
+        timer.record(VerificationLogBatchRepository.class, "insert", () ->
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, log)));
+    }
+
+    private static void bind(PreparedStatement ps, VerificationLog log) throws SQLException {
+        if (log.getCertificate() != null) {
+            ps.setLong(1, log.getCertificate().getId());
+        } else {
+            ps.setNull(1, Types.BIGINT);
+        }
+        ps.setString(2, log.getVerifierInfo());
+        ps.setBoolean(3, log.getVerificationResult());
+        ps.setString(4, log.getIpAddress());
+        ps.setTimestamp(5, Timestamp.valueOf(log.getVerificationDate()));
+    }
+}
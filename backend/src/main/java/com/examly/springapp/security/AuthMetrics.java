@@ -0,0 +1,104 @@
+package com.examly.springapp.security;
+
+import com.examly.springapp.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login and per-request authentication meters: {@code auth.login} latency by outcome,
+ * {@code auth.login.failures} by reason, {@code auth.jwt.parse} time by result and
+ * {@code auth.principal.lookups} by whether the token was still current.
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer loginSucceeded;
+    private final Timer loginFailed;
+    private final Map<String, Counter> loginFailures = new ConcurrentHashMap<>();
+    private final Timer jwtValid;
+    private final Timer jwtInvalid;
+    private final Counter tokenCurrent;
+    private final Counter tokenRevoked;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.loginSucceeded = loginTimer("success");
+        this.loginFailed = loginTimer("failure");
+        this.jwtValid = jwtTimer("valid");
+        this.jwtInvalid = jwtTimer("invalid");
+        this.tokenCurrent = principalCounter("current");
+        this.tokenRevoked = principalCounter("revoked");
+    }
+
+    public Timer.Sample startLogin() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void loginSucceeded(Timer.Sample sample) {
+        sample.stop(loginSucceeded);
+    }
+
+    public void loginFailed(Timer.Sample sample, RuntimeException e) {
+        sample.stop(loginFailed);
+        String reason;
+        if (e instanceof BadCredentialsException) {
+            reason = "bad_credentials";
+        } else if (e instanceof DisabledException) {
+            reason = "disabled";
+        } else if (e instanceof LockedException) {
+            reason = "locked";
+        } else if (e instanceof PasswordHashingBusyException) {
+            reason = "busy";
+        } else {
+            reason = "other";
+        }
+        loginFailures.computeIfAbsent(reason, key -> Counter.builder("auth.login.failures")
+                .description("Rejected logins")
+                .tag("reason", key)
+                .register(meterRegistry)).increment();
+    }
+
+    public void jwtParsed(long nanos, boolean valid) {
+        (valid ? jwtValid : jwtInvalid).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a principal resolved through {@link PrincipalCache}, by whether it accepted the
+     * token; the cache's own meters tell how many lookups reached the database.
+     */
+    public void principalResolved(boolean current) {
+        (current ? tokenCurrent : tokenRevoked).increment();
+    }
+
+    private Timer loginTimer(String outcome) {
+        return Timer.builder("auth.login")
+                .description("Login latency, including password verification and token issuance")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer jwtTimer(String result) {
+        return Timer.builder("auth.jwt.parse")
+                .description("JWT signature check and claims parsing time")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter principalCounter(String token) {
+        return Counter.builder("auth.principal.lookups")
+                .description("Requests with a valid token, by whether the user still accepts it")
+                .tag("token", token)
+                .register(meterRegistry);
+    }
+}
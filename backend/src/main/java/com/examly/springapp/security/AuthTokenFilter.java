@@ -9,26 +9,35 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filter that extracts JWT from Authorization header, validates it,
- * and sets Authentication in SecurityContext.
+ * and sets Authentication in SecurityContext. The token is parsed once and its
+ * subject resolved through {@link PrincipalCache}; tokens issued before the
+ * user's role or active flag last changed are refused.
  */
+@Component
 public class AuthTokenFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+    private final AuthMetrics authMetrics;
 
-    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService, PrincipalCache principalCache,
+                           AuthMetrics authMetrics) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.authMetrics = authMetrics;
     }
 
     @Override
@@ -40,15 +49,24 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
 
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getUserNameFromJwtToken(jwt);
+            Optional<JwtClaims> claims = Optional.empty();
+            if (jwt != null) {
+                long start = System.nanoTime();
+                claims = jwtUtils.parseJwtToken(jwt);
+                authMetrics.jwtParsed(System.nanoTime() - start, claims.isPresent());
+            }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (claims.isPresent()) {
+                UserPrincipal principal = principalCache.get(claims.get().subject(), userDetailsService::loadUserByUsername);
+                boolean current = principal.acceptsTokenIssuedAt(claims.get().issuedAt());
+                authMetrics.principalResolved(current);
+                if (current && principal.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -0,0 +1,10 @@
+package com.examly.springapp.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a verified token. Role and status are not carried; they are looked up for the
+ * subject on every request.
+ */
+public record JwtClaims(String subject, Date issuedAt, Date expiration) {
+}
@@ -0,0 +1,74 @@
+package com.examly.springapp.security;
+
+import com.examly.springapp.config.ThreadingConfig;
+import com.examly.springapp.dto.CacheStats;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by JWT subject (email), so the
+ * steady-state request path does not query the users table. Every request is authorized
+ * from the cached principal, never from token claims: role, active flag and the user's
+ * {@code tokensValidAfter} stamp all come from the database. Changes made on this node
+ * invalidate the entry at once; on other nodes the TTL bounds how long they go unseen.
+ * <p>
+ * As in {@code VerificationCache}, loads run on the {@link ThreadingConfig#CACHE_LOADER}
+ * executor.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    public static final String NAME = "principal";
+
+    private final Executor loadExecutor;
+    private final AsyncCache<String, UserPrincipal> cache;
+
+    public PrincipalCache(@Value("${app.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${app.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Qualifier(ThreadingConfig.CACHE_LOADER) Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public UserPrincipal get(String subject, Function<String, UserPrincipal> loader) {
+        try {
+            return cache.get(subject, (key, executor) ->
+                    CompletableFuture.supplyAsync(() -> loader.apply(key), loadExecutor)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(String subject) {
+        if (subject != null) {
+            cache.synchronous().invalidate(subject);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), NAME);
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.synchronous().stats();
+        return new CacheStats(NAME, cache.synchronous().estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+}
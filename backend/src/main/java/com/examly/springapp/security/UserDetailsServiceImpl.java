@@ -3,16 +3,10 @@ package com.examly.springapp.security;
 import com.examly.springapp.entity.User;
 import com.examly.springapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -20,23 +14,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public UserPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
-        // Convert enum role to string for Spring Security
-        List<GrantedAuthority> authorities = Collections.singletonList(
-                new SimpleGrantedAuthority(user.getRole().name()) // <--- .name() converts enum to string
-        );
-
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(authorities) // Must be List<GrantedAuthority>
-                .build();
+        // AuthService and @AuthenticationPrincipal both expect a UserPrincipal
+        return UserPrincipal.create(user);
     }
-    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-    new SimpleGrantedAuthority(user.getRole().name()) // If Role is enum
-);
-
 }
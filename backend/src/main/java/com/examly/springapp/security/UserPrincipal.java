@@ -9,8 +9,10 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 
 @Data
 @AllArgsConstructor
@@ -23,6 +25,7 @@ public class UserPrincipal implements UserDetails {
     private String password;
     private User.Role role;
     private Boolean isActive;
+    private Instant tokensValidAfter;
 
     public static UserPrincipal create(User user) {
         return new UserPrincipal(
@@ -31,10 +34,20 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 user.getRole(),
-                user.getIsActive()
+                user.getIsActive(),
+                user.getTokensValidAfter()
         );
     }
 
+    /**
+     * False for a token issued before the user's role or active flag last changed. Issue
+     * times have second precision, so a token minted in the same second is refused too.
+     */
+    public boolean acceptsTokenIssuedAt(Date issuedAt) {
+        return tokensValidAfter == null
+                || issuedAt != null && issuedAt.getTime() / 1000 > tokensValidAfter.getEpochSecond();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
@@ -5,14 +5,18 @@ import com.examly.springapp.dto.LoginRequest;
 import com.examly.springapp.dto.RegisterRequest;
 import com.examly.springapp.entity.Institution;
 import com.examly.springapp.entity.User;
+import com.examly.springapp.exception.PasswordHashingBusyException;
 import com.examly.springapp.repository.InstitutionRepository;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.security.AuthMetrics;
 import com.examly.springapp.security.JwtUtils;
 import com.examly.springapp.security.UserPrincipal;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,18 +29,27 @@ public class AuthService {
     private final InstitutionRepository institutionRepository;
     private final PasswordEncoder encoder;
     private final JwtUtils jwtUtils;
+    private final AuthMetrics authMetrics;
 
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
+        Timer.Sample sample = authMetrics.startLogin();
         // Authenticate credentials
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
+            );
+        } catch (AuthenticationException | PasswordHashingBusyException e) {
+            authMetrics.loginFailed(sample, e);
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         String jwt = jwtUtils.generateJwtToken(authentication);
         String refreshToken = jwtUtils.generateRefreshToken(userPrincipal.getEmail());
+        authMetrics.loginSucceeded(sample);
 
         return new JwtResponse(
                 jwt,
@@ -0,0 +1,110 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateRenderData;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.repository.CertificateRepository;
+import com.examly.springapp.repository.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams all certificates of a course as a ZIP archive. Entries come from the
+ * {@link ArtifactStore}, rendering any that are missing, and are written one at a time so
+ * neither the archive nor more than one document is ever buffered.
+ */
+@Service
+@Slf4j
+public class CertificateArchiveService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final CertificateRepository certificateRepository;
+    private final CourseRepository courseRepository;
+    private final CertificateRenderService certificateRenderService;
+    private final int pageSize;
+
+    public CertificateArchiveService(CertificateRepository certificateRepository,
+                                     CourseRepository courseRepository,
+                                     CertificateRenderService certificateRenderService,
+                                     @Value("${app.render.batch.page-size:500}") int pageSize) {
+        this.certificateRepository = certificateRepository;
+        this.courseRepository = courseRepository;
+        this.certificateRenderService = certificateRenderService;
+        this.pageSize = pageSize;
+    }
+
+    public void requireCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+    }
+
+    public void writeCourseArchive(Long courseId, RenderFormat format, OutputStream out) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long entries = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            long after = 0L;
+            while (true) {
+                List<CertificateRenderData> page = certificateRepository.findRenderDataByCourse(courseId, after, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (CertificateRenderData data : page) {
+                    // Leased across both reads of the file
+                    try (ArtifactStore.Artifact artifact = certificateRenderService.artifact(data, format)) {
+                        writeEntry(zip, CertificateRenderService.fileName(data, format), artifact, buffer);
+                    }
+                    entries++;
+                }
+                after = page.get(page.size() - 1).id();
+            }
+        }
+        log.info("Streamed {} certificates of course {} as a ZIP archive", entries, courseId);
+    }
+
+    /**
+     * PDFs and PNGs are already compressed, so entries are stored rather than deflated. A
+     * stored entry needs its CRC up front; the first read also warms the page cache for the copy.
+     */
+    private static void writeEntry(ZipOutputStream zip, String name, ArtifactStore.Artifact artifact, byte[] buffer)
+            throws IOException {
+        Path path = artifact.path();
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(artifact.size());
+        entry.setCompressedSize(artifact.size());
+        entry.setCrc(crc.getValue());
+        entry.setLastModifiedTime(FileTime.fromMillis(artifact.lastModified()));
+        zip.putNextEntry(entry);
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                zip.write(buffer, 0, read);
+            }
+        }
+        zip.closeEntry();
+        zip.flush();
+    }
+}
@@ -0,0 +1,107 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.TokenVerificationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issuance and verification meters. Rates and ratios come from counters rather than from the
+ * verification log, which is written behind and may drop entries under load:
+ * <ul>
+ *     <li>{@code certificates.issue} timer by {@code mode} (single, bulk) and {@code outcome}</li>
+ *     <li>{@code certificates.issued} counter by {@code mode}</li>
+ *     <li>{@code certificates.issuance.failures} counter by {@code reason}, including bulk
+ *     entries skipped as unknown or duplicate recipients</li>
+ *     <li>{@code certificates.verify} timer by {@code type} (code, batch, token)</li>
+ *     <li>{@code certificates.verify.lookups} counter by {@code result}: hit, miss, or
+ *     filtered when the Bloom filter answered without a lookup</li>
+ *     <li>{@code certificates.verify.tokens} counter by {@code result}</li>
+ * </ul>
+ */
+@Component
+public class CertificateMetrics {
+
+    public static final String SINGLE = "single";
+    public static final String BULK = "bulk";
+
+    public static final String CODE = "code";
+    public static final String BATCH = "batch";
+    public static final String TOKEN = "token";
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String FILTERED = "filtered";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CertificateMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void issued(Timer.Sample sample, String mode, int count) {
+        sample.stop(issueTimer(mode, "success"));
+        counter("certificates.issued", "Certificates issued", "mode", mode).increment(count);
+    }
+
+    /**
+     * Records a failed issuance and returns the exception for the caller to throw.
+     */
+    public RuntimeException issuanceFailed(Timer.Sample sample, String mode, String reason, String message) {
+        sample.stop(issueTimer(mode, "failure"));
+        issuanceFailures(reason, 1);
+        return new RuntimeException(message);
+    }
+
+    public void issuanceFailures(String reason, int count) {
+        if (count > 0) {
+            counter("certificates.issuance.failures", "Certificates not issued", "reason", reason).increment(count);
+        }
+    }
+
+    public void verified(Timer.Sample sample, String type) {
+        sample.stop(timers.computeIfAbsent("verify:" + type, key -> Timer.builder("certificates.verify")
+                .description("Verification latency")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry)));
+    }
+
+    public void lookups(String result, int count) {
+        if (count > 0) {
+            counter("certificates.verify.lookups", "Verified codes by lookup result", "result", result).increment(count);
+        }
+    }
+
+    public void tokenChecked(TokenVerificationResult.Reason reason) {
+        counter("certificates.verify.tokens", "Verified tokens by result", "result",
+                reason.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    private Timer issueTimer(String mode, String outcome) {
+        return timers.computeIfAbsent("issue:" + mode + ":" + outcome, key -> Timer.builder("certificates.issue")
+                .description("Issuance latency, per request")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String description, String tag, String value) {
+        return counters.computeIfAbsent(name + ":" + value, key -> Counter.builder(name)
+                .description(description)
+                .tag(tag, value)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,57 @@
+package com.examly.springapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style certificate numbers: 41 bits of milliseconds since {@link #EPOCH_MILLIS},
+ * 10 bits of node id and a 12-bit per-millisecond sequence. Numbers are unique across nodes
+ * as long as every node has its own {@code app.certificate-number.node-id}, and need no
+ * database round trip.
+ * <p>
+ * Timestamp and sequence share one atomic word. When a millisecond's sequence runs out, or
+ * the wall clock steps backwards, the generator borrows the next millisecond instead of
+ * waiting, so ids stay unique and increasing on each node.
+ */
+@Component
+public class CertificateNumberGenerator {
+
+    // 2024-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final String PREFIX = "CERT-";
+
+    private final long nodeId;
+    private final AtomicLong state = new AtomicLong();
+
+    public CertificateNumberGenerator(@Value("${app.certificate-number.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("app.certificate-number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public String nextCertificateNumber() {
+        return PREFIX + nextId();
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = Math.max(previous + 1, now);
+        } while (!state.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,85 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateRenderData;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.CertificateFields;
+import com.examly.springapp.render.CompiledTemplate;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.render.TemplateCache;
+import com.examly.springapp.render.TemplateCompiler;
+import com.examly.springapp.repository.CertificateRepository;
+import com.examly.springapp.repository.CertificateTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class CertificateRenderService {
+
+    private static final DateTimeFormatter ISSUE_DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    private final CertificateRepository certificateRepository;
+    private final CertificateTemplateRepository templateRepository;
+    private final TemplateCompiler templateCompiler;
+    private final TemplateCache templateCache;
+    private final ArtifactStore artifactStore;
+    private final CertificateTokenService certificateTokenService;
+
+    public CertificateRenderData getRenderData(Long certificateId) {
+        return certificateRepository.findRenderData(certificateId)
+                .orElseThrow(() -> new RuntimeException("Certificate not found with id: " + certificateId));
+    }
+
+    /**
+     * A lease on the stored rendering of a certificate, rendered and stored first if needed.
+     * The caller closes it once the file has been read.
+     */
+    public ArtifactStore.Artifact artifact(CertificateRenderData data, RenderFormat format) {
+        return artifactStore.getOrRender(data, format, certificateTokenService.getKeyId(), out -> renderTo(data, format, out));
+    }
+
+    public void renderTo(CertificateRenderData data, RenderFormat format, OutputStream out) throws IOException {
+        format.write(renderImage(data), out);
+    }
+
+    public BufferedImage renderImage(CertificateRenderData data) {
+        return compiledTemplate(data).render(fields(data));
+    }
+
+    public static String fileName(CertificateRenderData data, RenderFormat format) {
+        return "certificate-" + data.certificateNumber() + "." + format.getExtension();
+    }
+
+    private CompiledTemplate compiledTemplate(CertificateRenderData data) {
+        TemplateCache.TemplateKey key = TemplateCache.TemplateKey.of(data.templateId(), data.templateVersion());
+        return templateCache.get(key, this::compile);
+    }
+
+    private CompiledTemplate compile(TemplateCache.TemplateKey key) {
+        if (key.equals(TemplateCache.DEFAULT_KEY)) {
+            return templateCompiler.compile(null);
+        }
+        // Keyed by version so a design edited since the certificate was read is not cached under the old version
+        String designData = templateRepository.findDesignData(key.templateId(), key.version())
+                .orElseThrow(() -> new RuntimeException("Template " + key.templateId() + " changed while rendering, please retry"));
+        return templateCompiler.compile(designData);
+    }
+
+    private CertificateFields fields(CertificateRenderData data) {
+        return new CertificateFields(
+                data.recipientName(),
+                data.courseName(),
+                data.issueDate() != null ? ISSUE_DATE_FORMAT.format(data.issueDate()) : "",
+                data.verificationCode(),
+                data.certificateNumber(),
+                data.status() != null ? data.status().name() : "",
+                certificateTokenService.sign(data)
+        );
+    }
+}
@@ -1,19 +1,38 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BatchVerificationResult;
+import com.examly.springapp.dto.BulkCertificateRequest;
+import com.examly.springapp.dto.BulkCertificateResponse;
+import com.examly.springapp.dto.CertificateFilter;
 import com.examly.springapp.dto.CertificateRequest;
+import com.examly.springapp.dto.CertificateSummary;
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.TokenVerificationResult;
+import com.examly.springapp.dto.VerificationResult;
 import com.examly.springapp.entity.Certificate;
 import com.examly.springapp.entity.Course;
 import com.examly.springapp.entity.User;
 import com.examly.springapp.entity.VerificationLog;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.repository.CertificateBatchRepository;
 import com.examly.springapp.repository.CertificateRepository;
 import com.examly.springapp.repository.CourseRepository;
 import com.examly.springapp.repository.UserRepository;
-import com.examly.springapp.repository.VerificationLogRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -23,34 +42,58 @@ public class CertificateService {
     private final CertificateRepository certificateRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
-    private final VerificationLogRepository verificationLogRepository;
+    private final CertificateBatchRepository certificateBatchRepository;
+    private final VerificationLogWriter verificationLogWriter;
+    private final VerificationCache verificationCache;
+    private final VerificationCodeFilter verificationCodeFilter;
+    private final CertificateNumberGenerator certificateNumberGenerator;
+    private final ArtifactStore artifactStore;
+    private final CertificateTokenService certificateTokenService;
+    private final RevocationList revocationList;
+    private final CertificateMetrics certificateMetrics;
 
-    public List<Certificate> getAllCertificates() {
-        return certificateRepository.findAll();
+    @Value("${app.verification-filter.log-rejections:false}")
+    private boolean logFilterRejections;
+
+    // Keeps IN lists well below the bind-parameter limits of MySQL and H2
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    @Value("${app.certificates.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    public CursorPage<CertificateSummary> getCertificatePage(CertificateFilter filter, Long after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<CertificateSummary> rows = certificateRepository.findPage(filter, CursorPage.afterOrStart(after), pageSize + 1);
+        return CursorPage.of(rows, pageSize, CertificateSummary::id);
     }
 
     public Optional<Certificate> getCertificateById(Long id) {
         return certificateRepository.findById(id);
     }
 
-    public List<Certificate> getCertificatesByRecipient(User recipient) {
-        return certificateRepository.findByRecipient(recipient);
+    public List<CertificateSummary> getCertificatesByRecipientId(Long recipientId) {
+        return certificateRepository.findSummariesByRecipientId(recipientId);
     }
 
     public Certificate createCertificate(CertificateRequest request) {
+        Timer.Sample sample = certificateMetrics.start();
         Course course = courseRepository.findById(request.getCourseId())
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+                .orElseThrow(() -> certificateMetrics.issuanceFailed(sample, CertificateMetrics.SINGLE,
+                        "course_not_found", "Course not found"));
 
         User recipient = null;
 
         if (request.getRecipientId() != null) {
             recipient = userRepository.findById(request.getRecipientId())
-                    .orElseThrow(() -> new RuntimeException("Recipient not found"));
+                    .orElseThrow(() -> certificateMetrics.issuanceFailed(sample, CertificateMetrics.SINGLE,
+                            "recipient_not_found", "Recipient not found"));
         } else if (request.getRecipientEmail() != null) {
             recipient = userRepository.findByEmail(request.getRecipientEmail())
-                    .orElseThrow(() -> new RuntimeException("Recipient not found with email: " + request.getRecipientEmail()));
+                    .orElseThrow(() -> certificateMetrics.issuanceFailed(sample, CertificateMetrics.SINGLE,
+                            "recipient_not_found", "Recipient not found with email: " + request.getRecipientEmail()));
         } else {
-            throw new RuntimeException("Either recipientId or recipientEmail must be provided");
+            throw certificateMetrics.issuanceFailed(sample, CertificateMetrics.SINGLE,
+                    "missing_recipient", "Either recipientId or recipientEmail must be provided");
         }
 
         Certificate certificate = new Certificate();
@@ -59,7 +102,101 @@ public class CertificateService {
         certificate.setCourse(course);
         certificate.setRecipient(recipient);
 
-        return certificateRepository.save(certificate);
+        Certificate saved = certificateRepository.save(certificate);
+        verificationCodeFilter.add(saved.getVerificationCode());
+        certificateMetrics.issued(sample, CertificateMetrics.SINGLE, 1);
+        return saved;
+    }
+
+    /**
+     * Issues certificates for a whole cohort. Recipients are resolved with a handful of
+     * set-based queries and the certificates are written with batched inserts, so the
+     * number of round trips grows with the batch size rather than the cohort size.
+     */
+    @Transactional
+    public BulkCertificateResponse issueCertificates(BulkCertificateRequest request) {
+        Timer.Sample sample = certificateMetrics.start();
+        Course course = courseRepository.findById(request.getCourseId())
+                .orElseThrow(() -> certificateMetrics.issuanceFailed(sample, CertificateMetrics.BULK,
+                        "course_not_found", "Course not found"));
+        List<BulkCertificateRequest.Recipient> recipients = request.getRecipients();
+
+        Set<Long> recipientIds = new HashSet<>();
+        Set<String> recipientEmails = new HashSet<>();
+        for (BulkCertificateRequest.Recipient recipient : recipients) {
+            if (recipient.getRecipientId() != null) {
+                recipientIds.add(recipient.getRecipientId());
+            } else if (recipient.getRecipientEmail() != null) {
+                recipientEmails.add(recipient.getRecipientEmail());
+            }
+        }
+
+        Map<Long, User> usersById = new HashMap<>();
+        for (List<Long> chunk : partition(recipientIds)) {
+            userRepository.findAllById(chunk).forEach(user -> usersById.put(user.getId(), user));
+        }
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (List<String> chunk : partition(recipientEmails)) {
+            userRepository.findByEmailIn(chunk).forEach(user -> usersByEmail.put(user.getEmail(), user));
+        }
+
+        Set<Long> resolvedIds = new HashSet<>(usersById.keySet());
+        usersByEmail.values().forEach(user -> resolvedIds.add(user.getId()));
+        Set<Long> issuedRecipientIds = new HashSet<>();
+        for (List<Long> chunk : partition(resolvedIds)) {
+            issuedRecipientIds.addAll(certificateRepository.findRecipientIdsByCourse(course.getId(), chunk));
+        }
+
+        LocalDateTime issueDate = LocalDateTime.now();
+        List<Certificate> certificates = new ArrayList<>();
+        List<BulkCertificateResponse.Result> results = new ArrayList<>(recipients.size());
+        int unknownRecipients = 0;
+        int duplicates = 0;
+
+        for (int i = 0; i < recipients.size(); i++) {
+            BulkCertificateRequest.Recipient entry = recipients.get(i);
+            User recipient = null;
+            if (entry.getRecipientId() != null) {
+                recipient = usersById.get(entry.getRecipientId());
+            } else if (entry.getRecipientEmail() != null) {
+                recipient = usersByEmail.get(entry.getRecipientEmail());
+            }
+
+            BulkCertificateResponse.Result result = new BulkCertificateResponse.Result();
+            result.setIndex(i);
+            result.setRecipientId(recipient != null ? recipient.getId() : entry.getRecipientId());
+            result.setRecipientEmail(recipient != null ? recipient.getEmail() : entry.getRecipientEmail());
+
+            if (recipient == null) {
+                result.setStatus(BulkCertificateResponse.Status.UNKNOWN_RECIPIENT);
+                unknownRecipients++;
+            } else if (!issuedRecipientIds.add(recipient.getId())) {
+                // Already certified for this course, or listed twice in the request
+                result.setStatus(BulkCertificateResponse.Status.DUPLICATE);
+                duplicates++;
+            } else {
+                Certificate certificate = new Certificate();
+                certificate.setCertificateNumber(generateCertificateNumber());
+                certificate.setVerificationCode(generateVerificationCode());
+                certificate.setCourse(course);
+                certificate.setRecipient(recipient);
+                certificate.setIssueDate(issueDate);
+                certificates.add(certificate);
+
+                result.setStatus(BulkCertificateResponse.Status.ISSUED);
+                result.setCertificateNumber(certificate.getCertificateNumber());
+                result.setVerificationCode(certificate.getVerificationCode());
+            }
+            results.add(result);
+        }
+
+        certificateBatchRepository.insertAll(certificates, bulkBatchSize);
+        verificationCodeFilter.addAll(certificates.stream().map(Certificate::getVerificationCode).toList());
+        certificateMetrics.issued(sample, CertificateMetrics.BULK, certificates.size());
+        certificateMetrics.issuanceFailures("unknown_recipient", unknownRecipients);
+        certificateMetrics.issuanceFailures("duplicate", duplicates);
+
+        return new BulkCertificateResponse(course.getId(), certificates.size(), unknownRecipients, duplicates, results);
     }
 
     public Certificate updateCertificate(Long id, Certificate certificateDetails) {
@@ -69,42 +206,196 @@ public class CertificateService {
         if (certificateDetails.getStatus() != null) {
             certificate.setStatus(certificateDetails.getStatus());
         }
-        return certificateRepository.save(certificate);
+        Certificate saved = certificateRepository.save(certificate);
+        verificationCache.invalidate(saved.getVerificationCode());
+        artifactStore.invalidateCertificate(id);
+        if (saved.getStatus() == Certificate.CertificateStatus.ACTIVE) {
+            revocationList.restore(id);
+        } else {
+            revocationList.revoke(id);
+        }
+        return saved;
     }
 
     public void deleteCertificate(Long id) {
-        if (!certificateRepository.existsById(id)) {
-            throw new RuntimeException("Certificate not found with id: " + id);
-        }
-        certificateRepository.deleteById(id);
+        Certificate certificate = certificateRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Certificate not found with id: " + id));
+        certificateRepository.delete(certificate);
+        verificationCache.invalidate(certificate.getVerificationCode());
+        verificationCodeFilter.markRemoved(certificate.getVerificationCode());
+        artifactStore.invalidateCertificate(id);
+        revocationList.revoke(id);
     }
 
-    public Certificate verifyCertificate(String verificationCode, String verifierInfo, String ipAddress) {
-        Optional<Certificate> certificateOpt = certificateRepository.findByVerificationCode(verificationCode);
+    public VerificationResult verifyCertificate(String verificationCode, String verifierInfo, String ipAddress) {
+        Timer.Sample sample = certificateMetrics.start();
+        try {
+            return verifyCode(verificationCode, verifierInfo, ipAddress);
+        } finally {
+            certificateMetrics.verified(sample, CertificateMetrics.CODE);
+        }
+    }
 
+    private VerificationResult verifyCode(String verificationCode, String verifierInfo, String ipAddress) {
         VerificationLog log = new VerificationLog();
         log.setVerifierInfo(verifierInfo);
         log.setIpAddress(ipAddress);
 
-        if (certificateOpt.isPresent()) {
-            Certificate certificate = certificateOpt.get();
-            log.setCertificate(certificate);
+        // Definitely unknown codes are answered without touching the cache or database
+        if (!verificationCodeFilter.mightContain(verificationCode)) {
+            certificateMetrics.lookups(CertificateMetrics.FILTERED, 1);
+            if (logFilterRejections) {
+                log.setVerificationResult(false);
+                verificationLogWriter.enqueue(log);
+            }
+            return null;
+        }
+
+        Optional<VerificationResult> result =
+                verificationCache.get(verificationCode, certificateRepository::findVerificationResult);
+
+        if (result.isPresent()) {
+            certificateMetrics.lookups(CertificateMetrics.HIT, 1);
+            // Only the id is written to the log, so an uninitialized reference is enough
+            log.setCertificate(certificateRepository.getReferenceById(result.get().certificateId()));
             log.setVerificationResult(true);
-            verificationLogRepository.save(log);
-            return certificate;
+            verificationLogWriter.enqueue(log);
+            return result.get();
         } else {
+            certificateMetrics.lookups(CertificateMetrics.MISS, 1);
+            verificationCodeFilter.recordFalsePositive();
             log.setCertificate(null);
             log.setVerificationResult(false);
-            verificationLogRepository.save(log);
+            verificationLogWriter.enqueue(log);
             return null;
         }
     }
 
+    /**
+     * Verifies many codes with one cache lookup and one {@code IN} query per chunk of codes
+     * missing from the cache. Results and log entries follow the input order, duplicates
+     * included.
+     */
+    public List<BatchVerificationResult> verifyCertificates(List<String> verificationCodes, String verifierInfo,
+                                                            String ipAddress) {
+        Timer.Sample sample = certificateMetrics.start();
+        Set<String> candidates = new HashSet<>();
+        for (String code : verificationCodes) {
+            if (verificationCodeFilter.mightContain(code)) {
+                candidates.add(code);
+            }
+        }
+
+        Map<String, VerificationResult> found = verificationCache.getAll(candidates, missing -> {
+            Map<String, VerificationResult> loaded = new HashMap<>();
+            for (List<String> chunk : partition(missing)) {
+                certificateRepository.findVerificationResults(chunk)
+                        .forEach(result -> loaded.put(result.verificationCode(), result));
+            }
+            return loaded;
+        });
+
+        List<BatchVerificationResult> results = new ArrayList<>(verificationCodes.size());
+        List<VerificationLog> logs = new ArrayList<>(verificationCodes.size());
+        int hits = 0;
+        int misses = 0;
+        for (String code : verificationCodes) {
+            VerificationResult result = found.get(code);
+            results.add(new BatchVerificationResult(code, result != null, result));
+            if (result != null) {
+                hits++;
+            } else {
+                if (!candidates.contains(code)) {
+                    // Rejected by the filter, logged as for single verifications
+                    if (!logFilterRejections) {
+                        continue;
+                    }
+                } else {
+                    misses++;
+                    verificationCodeFilter.recordFalsePositive();
+                }
+            }
+            VerificationLog log = new VerificationLog();
+            log.setVerifierInfo(verifierInfo);
+            log.setIpAddress(ipAddress);
+            if (result != null) {
+                log.setCertificate(certificateRepository.getReferenceById(result.certificateId()));
+            }
+            log.setVerificationResult(result != null);
+            logs.add(log);
+        }
+        verificationLogWriter.enqueueAll(logs);
+        certificateMetrics.lookups(CertificateMetrics.HIT, hits);
+        certificateMetrics.lookups(CertificateMetrics.MISS, misses);
+        certificateMetrics.lookups(CertificateMetrics.FILTERED, verificationCodes.size() - hits - misses);
+        certificateMetrics.verified(sample, CertificateMetrics.BATCH);
+        return results;
+    }
+
+    /**
+     * Checks a signed certificate token in memory: signature, signed status and the
+     * revocation list. Only certificates issued since startup need a database lookup.
+     */
+    public TokenVerificationResult verifyToken(String token, String verifierInfo, String ipAddress) {
+        Timer.Sample sample = certificateMetrics.start();
+        TokenVerificationResult result = checkToken(token, verifierInfo, ipAddress);
+        certificateMetrics.tokenChecked(result.reason());
+        certificateMetrics.verified(sample, CertificateMetrics.TOKEN);
+        return result;
+    }
+
+    private TokenVerificationResult checkToken(String token, String verifierInfo, String ipAddress) {
+        VerificationLog log = new VerificationLog();
+        log.setVerifierInfo(verifierInfo);
+        log.setIpAddress(ipAddress);
+
+        Optional<CertificateTokenService.Claims> verified = certificateTokenService.verify(token);
+        if (verified.isEmpty()) {
+            log.setVerificationResult(false);
+            verificationLogWriter.enqueue(log);
+            return new TokenVerificationResult(false, TokenVerificationResult.Reason.INVALID_SIGNATURE,
+                    null, null, null, null, null);
+        }
+
+        CertificateTokenService.Claims claims = verified.get();
+        TokenVerificationResult.Reason reason;
+        if (claims.status() != Certificate.CertificateStatus.ACTIVE) {
+            reason = TokenVerificationResult.Reason.NOT_ACTIVE;
+        } else if (revocationList.isRevoked(claims.certificateId())) {
+            reason = TokenVerificationResult.Reason.REVOKED;
+        } else if (!revocationList.covers(claims.certificateId())
+                && certificateRepository.findStatusById(claims.certificateId())
+                .filter(status -> status == Certificate.CertificateStatus.ACTIVE).isEmpty()) {
+            reason = TokenVerificationResult.Reason.REVOKED;
+        } else {
+            reason = TokenVerificationResult.Reason.VALID;
+        }
+
+        boolean valid = reason == TokenVerificationResult.Reason.VALID;
+        if (valid) {
+            // Revoked tokens may name deleted certificates, so only valid ones are linked
+            log.setCertificate(certificateRepository.getReferenceById(claims.certificateId()));
+        }
+        log.setVerificationResult(valid);
+        verificationLogWriter.enqueue(log);
+        return new TokenVerificationResult(valid, reason, claims.certificateNumber(), claims.recipientName(),
+                claims.courseName(), claims.issueDate(), claims.status());
+    }
+
+    private static <T> List<List<T>> partition(Collection<T> values) {
+        List<T> all = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
     private String generateCertificateNumber() {
-        return "CERT-" + System.currentTimeMillis();
+        return certificateNumberGenerator.nextCertificateNumber();
     }
 
-    private String generateVerificationCode() {
+    private static String generateVerificationCode() {
         return UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
     }
 }
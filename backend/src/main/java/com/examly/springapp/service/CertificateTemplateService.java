@@ -1,26 +1,40 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.TemplateStamp;
 import com.examly.springapp.entity.CertificateTemplate;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.TemplateCache;
 import com.examly.springapp.repository.CertificateTemplateRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CertificateTemplateService {
     private final CertificateTemplateRepository templateRepository;
+    private final TemplateCache templateCache;
+    private final ArtifactStore artifactStore;
 
-    public List<CertificateTemplate> getAllTemplates() {
-        return templateRepository.findAll();
+    public CursorPage<CertificateTemplate> getTemplatePage(Long after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<CertificateTemplate> rows = templateRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.afterOrStart(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, CertificateTemplate::getId);
     }
 
     public Optional<CertificateTemplate> getTemplateById(Long id) {
         return templateRepository.findById(id);
     }
 
+    public Optional<TemplateStamp> getTemplateStamp(Long id) {
+        return templateRepository.findStampById(id);
+    }
+
     public CertificateTemplate createTemplate(CertificateTemplate template) {
         if (template.getCreatedBy() == null) {
             // Set default user ID 1 if not provided
@@ -34,6 +48,9 @@ public class CertificateTemplateService {
         if (template.getVersion() == null) {
             template.setVersion(1);
         }
+        if (template.getRevision() == null) {
+            template.setRevision(0L);
+        }
         return templateRepository.save(template);
     }
 
@@ -44,17 +61,30 @@ public class CertificateTemplateService {
         if (templateDetails.getName() != null) {
             template.setName(templateDetails.getName());
         }
+        Integer previousVersion = template.getVersion();
+        boolean designChanged = templateDetails.getDesignData() != null
+                && !Objects.equals(templateDetails.getDesignData(), template.getDesignData());
         if (templateDetails.getDesignData() != null) {
             template.setDesignData(templateDetails.getDesignData());
         }
         if (templateDetails.getVersion() != null) {
             template.setVersion(templateDetails.getVersion());
         }
+        // Compiled templates are cached by (id, version), so a new design must never reuse a version
+        if (designChanged && template.getVersion() <= previousVersion) {
+            template.setVersion(previousVersion + 1);
+        }
         if (templateDetails.getApprovalStatus() != null) {
             template.setApprovalStatus(templateDetails.getApprovalStatus());
         }
+        template.setRevision(template.getRevision() + 1);
 
-        return templateRepository.save(template);
+        CertificateTemplate saved = templateRepository.save(template);
+        if (designChanged) {
+            templateCache.invalidate(id);
+            artifactStore.invalidateTemplate(id);
+        }
+        return saved;
     }
 
     public void deleteTemplate(Long id) {
@@ -62,5 +92,7 @@ public class CertificateTemplateService {
             throw new RuntimeException("Template not found with id: " + id);
         }
         templateRepository.deleteById(id);
+        templateCache.invalidate(id);
+        artifactStore.invalidateTemplate(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateRenderData;
+import com.examly.springapp.dto.SigningKeyInfo;
+import com.examly.springapp.entity.Certificate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Signs and checks offline-verifiable certificate tokens.
+ *
+ * <p>A token is {@code base64url(payload) "." base64url(Ed25519 signature)}. The payload is
+ * binary to keep the QR code small: a format version byte, the certificate id (8 bytes), the
+ * certificate number, recipient name and course name (modified UTF-8, length-prefixed), the
+ * issue date in UTC epoch seconds (8 bytes), the status ordinal (1 byte) and the
+ * {@link RevocationList} version the status was signed at (8 bytes). An offline verifier
+ * holding that version of the list or a later one can tell whether the status still holds;
+ * with an older list it must fetch the changes first. Version 1 tokens carried the issue
+ * date in that slot and still verify, with a revocation version of 0.
+ *
+ * <p>The key pair comes from {@code app.token-signing.private-key} (PKCS#8) and
+ * {@code app.token-signing.public-key} (X.509), both base64. Startup fails without them unless
+ * {@code app.token-signing.allow-ephemeral-key} is set, as in the {@code dev} profile; the
+ * generated pair then changes on every restart and earlier tokens stop verifying.
+ */
+@Service
+@Slf4j
+public class CertificateTokenService {
+
+    public static final String ALGORITHM = "Ed25519";
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte ISSUE_DATE_FORMAT_VERSION = 1;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final RevocationList revocationList;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final String keyId;
+
+    public CertificateTokenService(RevocationList revocationList,
+                                   @Value("${app.token-signing.private-key:}") String privateKey,
+                                   @Value("${app.token-signing.public-key:}") String publicKey,
+                                   @Value("${app.token-signing.allow-ephemeral-key:false}") boolean allowEphemeralKey)
+            throws GeneralSecurityException {
+        this.revocationList = revocationList;
+        if (privateKey.isBlank() || publicKey.isBlank()) {
+            if (!allowEphemeralKey) {
+                throw new IllegalStateException("No token signing key configured: set TOKEN_SIGNING_PRIVATE_KEY and "
+                        + "TOKEN_SIGNING_PUBLIC_KEY, or app.token-signing.allow-ephemeral-key=true for development");
+            }
+            log.warn("No token signing key configured; using an ephemeral {} key, tokens will not survive a restart", ALGORITHM);
+            KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+        } else {
+            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey.strip())));
+            this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey.strip())));
+        }
+        byte[] fingerprint = MessageDigest.getInstance("SHA-256").digest(this.publicKey.getEncoded());
+        this.keyId = HexFormat.of().formatHex(fingerprint, 0, 8);
+    }
+
+    public String sign(CertificateRenderData data) {
+        byte[] payload = encode(data, revocationList.getVersion());
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(payload);
+            return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign certificate token", e);
+        }
+    }
+
+    /**
+     * Detached signature over arbitrary bytes, base64url, for documents such as the
+     * revocation list that offline verifiers check with the same public key.
+     */
+    public String signDetached(byte[] content) {
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(content);
+            return ENCODER.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign content", e);
+        }
+    }
+
+    /**
+     * Returns the signed claims, or empty when the token is malformed or the signature does
+     * not match. Revocation is checked by the caller.
+     */
+    public Optional<Claims> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initVerify(publicKey);
+            signature.update(payload);
+            if (!signature.verify(DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(payload));
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public SigningKeyInfo getKeyInfo() {
+        return new SigningKeyInfo(ALGORITHM, keyId, "X.509", Base64.getEncoder().encodeToString(publicKey.getEncoded()));
+    }
+
+    private static byte[] encode(CertificateRenderData data, long revocationVersion) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            long issued = data.issueDate() != null ? data.issueDate().toEpochSecond(ZoneOffset.UTC) : 0L;
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(data.id());
+            out.writeUTF(Objects.toString(data.certificateNumber(), ""));
+            out.writeUTF(Objects.toString(data.recipientName(), ""));
+            out.writeUTF(Objects.toString(data.courseName(), ""));
+            out.writeLong(issued);
+            out.writeByte(data.status().ordinal());
+            out.writeLong(revocationVersion);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Claims decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION && version != ISSUE_DATE_FORMAT_VERSION) {
+            throw new IOException("Unsupported token version");
+        }
+        long certificateId = in.readLong();
+        String certificateNumber = in.readUTF();
+        String recipientName = in.readUTF();
+        String courseName = in.readUTF();
+        LocalDateTime issueDate = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+        int status = in.readUnsignedByte();
+        long stamp = in.readLong();
+        if (status >= Certificate.CertificateStatus.values().length || in.available() > 0) {
+            throw new IOException("Malformed token");
+        }
+        return new Claims(certificateId, certificateNumber, recipientName, courseName, issueDate,
+                Certificate.CertificateStatus.values()[status], version == FORMAT_VERSION ? stamp : 0L);
+    }
+
+    public record Claims(
+            long certificateId,
+            String certificateNumber,
+            String recipientName,
+            String courseName,
+            LocalDateTime issueDate,
+            Certificate.CertificateStatus status,
+            long revocationVersion
+    ) {
+    }
+}
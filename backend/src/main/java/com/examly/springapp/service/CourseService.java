@@ -1,8 +1,12 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.CourseStamp;
+import com.examly.springapp.dto.CourseSummary;
+import com.examly.springapp.dto.CursorPage;
 import com.examly.springapp.entity.Course;
 import com.examly.springapp.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,11 +17,16 @@ import java.util.Optional;
 public class CourseService {
     private final CourseRepository courseRepository;
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public CursorPage<CourseSummary> getCoursePage(Long after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<CourseSummary> rows = courseRepository.findSummariesAfter(CursorPage.afterOrStart(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, CourseSummary::id);
     }
 
     public Course createCourse(Course course) {
+        if (course.getRevision() == null) {
+            course.setRevision(0L);
+        }
         return courseRepository.save(course);
     }
 
@@ -25,6 +34,10 @@ public class CourseService {
         return courseRepository.findById(id);
     }
 
+    public Optional<CourseStamp> getCourseStamp(Long id) {
+        return courseRepository.findStampById(id);
+    }
+
     public Course updateCourse(Long id, Course course) {
         Course existingCourse = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
@@ -38,6 +51,7 @@ public class CourseService {
         if (course.getCompletionCriteria() != null) {
             existingCourse.setCompletionCriteria(course.getCompletionCriteria());
         }
+        existingCourse.setRevision(existingCourse.getRevision() + 1);
         
         return courseRepository.save(existingCourse);
     }
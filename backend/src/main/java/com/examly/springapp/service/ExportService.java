@@ -0,0 +1,223 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateFilter;
+import com.examly.springapp.dto.VerificationLogFilter;
+import com.examly.springapp.repository.ExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes certificate and verification-log dumps straight from a JDBC cursor to the
+ * response stream as NDJSON or CSV, optionally gzip-compressed.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public void exportCertificates(CertificateFilter filter, Format format, boolean gzip, OutputStream out) throws IOException {
+        export(format, gzip, out, extractor -> exportRepository.streamCertificates(filter, extractor));
+    }
+
+    public void exportVerificationLogs(VerificationLogFilter filter, Format format, boolean gzip, OutputStream out) throws IOException {
+        export(format, gzip, out, extractor -> exportRepository.streamVerificationLogs(filter, extractor));
+    }
+
+    private void export(Format format, boolean gzip, OutputStream out, Consumer<ResultSetExtractor<Void>> query) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024)) {
+            RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            try {
+                query.accept(rowWriter);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            rowWriter.finish();
+        }
+    }
+
+    private abstract static class RowWriter implements ResultSetExtractor<Void> {
+        protected final Writer writer;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Writes the header from the result set metadata before the first row, so an export
+         * that matches nothing still carries its column names.
+         */
+        @Override
+        public Void extractData(ResultSet rs) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            String[] columns = new String[metaData.getColumnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+            }
+            try {
+                writeHeader(columns);
+                while (rs.next()) {
+                    writeRow(columns, rs);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+
+        protected static Object value(ResultSet rs, int column) throws SQLException {
+            Object value = rs.getObject(column);
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toString();
+            }
+            return value;
+        }
+
+        void finish() throws IOException {
+        }
+
+        abstract void writeHeader(String[] columns) throws IOException;
+
+        abstract void writeRow(String[] columns, ResultSet rs) throws IOException, SQLException;
+    }
+
+    private final class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // One object per line; the generator must not close the shared writer
+            this.generator.setRootValueSeparator(null);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void writeHeader(String[] columns) {
+        }
+
+        @Override
+        void writeRow(String[] columns, ResultSet rs) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeObjectField(columns[i], value(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeHeader(String[] columns) throws IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void writeRow(String[] columns, ResultSet rs) throws IOException, SQLException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = value(rs, i + 1);
+                if (value instanceof String text) {
+                    writeField(neutralize(text));
+                } else if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        /**
+         * Text such as a verifier's User-Agent or a recipient name is untrusted; a spreadsheet
+         * would evaluate one starting with a formula character, so it is prefixed with a quote.
+         */
+        private static String neutralize(String text) {
+            if (text.isEmpty()) {
+                return text;
+            }
+            return switch (text.charAt(0)) {
+                case '=', '+', '-', '@', '\t', '\r' -> "'" + text;
+                default -> text;
+            };
+        }
+
+        private void writeField(String field) throws IOException {
+            boolean quote = field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(field);
+                return;
+            }
+            writer.write('"');
+            writer.write(field.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateRenderData;
+import com.examly.springapp.dto.RenderJobStatus;
+import com.examly.springapp.render.ArtifactStore;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.repository.CertificateRepository;
+import com.examly.springapp.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders every certificate of a course into the {@link ArtifactStore} in the background.
+ *
+ * <p>Jobs run one at a time on a coordinator thread that pages through the course's
+ * certificates and hands each one to a work-stealing pool sized to the cores. A semaphore
+ * taken before a certificate is submitted and released once it is stored bounds the
+ * number of rendered documents held in memory to {@code max-in-flight}; when the pool falls
+ * behind, the coordinator simply stops reading.
+ *
+ * <p>A job keeps a lease on every artifact it stored, so LRU eviction cannot take its output
+ * until {@code output-retention-ms} after it finished (or until it is pruned from the status
+ * list). Pinned output across all jobs is held within the store quota: a job whose next
+ * artifact would not fit stops submitting and fails, keeping what it rendered so far.
+ */
+@Service
+@Slf4j
+public class RenderJobService {
+
+    private final CertificateRepository certificateRepository;
+    private final CourseRepository courseRepository;
+    private final CertificateRenderService certificateRenderService;
+    private final ArtifactStore artifactStore;
+    private final int maxInFlight;
+    private final int pageSize;
+    private final int retainedJobs;
+    private final long outputRetentionNanos;
+    // Bytes held by job leases, kept within the store quota
+    private final AtomicLong pinnedBytes = new AtomicLong();
+    private final ForkJoinPool renderPool;
+    private final ThreadPoolExecutor coordinator;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public RenderJobService(CertificateRepository certificateRepository,
+                            CourseRepository courseRepository,
+                            CertificateRenderService certificateRenderService,
+                            ArtifactStore artifactStore,
+                            @Value("${app.render.batch.parallelism:0}") int parallelism,
+                            @Value("${app.render.batch.max-in-flight:64}") int maxInFlight,
+                            @Value("${app.render.batch.page-size:500}") int pageSize,
+                            @Value("${app.render.batch.queued-jobs:16}") int queuedJobs,
+                            @Value("${app.render.batch.retained-jobs:100}") int retainedJobs,
+                            @Value("${app.render.batch.output-retention-ms:1800000}") long outputRetentionMs) {
+        this.certificateRepository = certificateRepository;
+        this.courseRepository = courseRepository;
+        this.certificateRenderService = certificateRenderService;
+        this.artifactStore = artifactStore;
+        this.maxInFlight = maxInFlight;
+        this.pageSize = pageSize;
+        this.retainedJobs = retainedJobs;
+        this.outputRetentionNanos = TimeUnit.MILLISECONDS.toNanos(outputRetentionMs);
+        this.renderPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("certificate-render-" + thread.getPoolIndex());
+                    return thread;
+                }, null, true);
+        this.coordinator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queuedJobs), runnable -> {
+                    Thread thread = new Thread(runnable, "render-job-coordinator");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public RenderJobStatus submit(Long courseId, RenderFormat format) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        Job job = new Job(UUID.randomUUID().toString(), courseId, format, artifactStore.getRoot(), outputRetentionNanos);
+        jobs.put(job.id, job);
+        try {
+            coordinator.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RuntimeException("Too many render jobs queued, please retry later");
+        }
+        pruneFinishedJobs();
+        return job.status();
+    }
+
+    public Optional<RenderJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+    }
+
+    private void run(Job job) {
+        job.start(certificateRepository.countByCourseId(job.courseId));
+        log.info("Render job {} started: course {}, {} certificates, parallelism {}",
+                job.id, job.courseId, job.total, renderPool.getParallelism());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try {
+            long after = 0L;
+            while (!job.outOfSpace) {
+                List<CertificateRenderData> page = certificateRepository.findRenderDataByCourse(job.courseId, after, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (CertificateRenderData data : page) {
+                    if (job.outOfSpace) {
+                        break;
+                    }
+                    inFlight.acquire();
+                    renderPool.execute(() -> {
+                        try {
+                            if (keep(job, certificateRenderService.artifact(data, job.format))) {
+                                job.rendered.incrementAndGet();
+                            } else {
+                                job.failed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            job.failed.incrementAndGet();
+                            log.warn("Render job {} failed on certificate {}: {}", job.id, data.id(), e.getMessage());
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                after = page.get(page.size() - 1).id();
+                log.info("Render job {} progress: {}/{}", job.id, job.rendered.get() + job.failed.get(), job.total);
+            }
+            // Wait for the last submitted renders to finish
+            inFlight.acquire(maxInFlight);
+            if (job.outOfSpace) {
+                String error = String.format("Output no longer fits the artifact store quota of %d bytes; kept %d of %d certificates",
+                        artifactStore.getMaxBytes(), job.rendered.get(), job.total);
+                log.warn("Render job {} stopped: {}", job.id, error);
+                job.finish(error);
+            } else {
+                job.finish(null);
+                log.info("Render job {} completed: {} rendered, {} failed, {} docs/s",
+                        job.id, job.rendered.get(), job.failed.get(), String.format("%.1f", job.throughput()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("Interrupted");
+        } catch (Exception e) {
+            log.error("Render job {} failed: {}", job.id, e.getMessage());
+            job.finish(e.getMessage());
+        }
+    }
+
+    /**
+     * Pins the artifact for the job, or closes it and flags the job when pinned output would
+     * exceed the store quota.
+     */
+    private boolean keep(Job job, ArtifactStore.Artifact artifact) {
+        if (pinnedBytes.addAndGet(artifact.size()) > artifactStore.getMaxBytes()) {
+            pinnedBytes.addAndGet(-artifact.size());
+            artifact.close();
+            job.outOfSpace = true;
+            return false;
+        }
+        if (!job.pin(artifact)) {
+            pinnedBytes.addAndGet(-artifact.size());
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseOutput(Job job) {
+        pinnedBytes.addAndGet(-job.release());
+    }
+
+    @Scheduled(fixedDelayString = "${app.render.batch.output-release-interval-ms:60000}")
+    public void releaseExpiredOutput() {
+        long now = System.nanoTime();
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null && now - job.finishNanos >= outputRetentionNanos)
+                .forEach(this::releaseOutput);
+    }
+
+    private void pruneFinishedJobs() {
+        int excess = jobs.size() - retainedJobs;
+        if (excess <= 0) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing((Job job) -> job.finishedAt))
+                .limit(excess)
+                .forEach(job -> {
+                    jobs.remove(job.id);
+                    releaseOutput(job);
+                });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        coordinator.shutdownNow();
+        renderPool.shutdown();
+        if (!renderPool.awaitTermination(10, TimeUnit.SECONDS)) {
+            renderPool.shutdownNow();
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Long courseId;
+        private final RenderFormat format;
+        private final Path directory;
+        private final long outputRetentionNanos;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong rendered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long total;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startNanos;
+        private volatile long finishNanos;
+        private volatile String error;
+        private volatile boolean outOfSpace;
+        // Leases on the stored output; guarded by this
+        private final List<ArtifactStore.Artifact> output = new ArrayList<>();
+        private boolean released;
+
+        Job(String id, Long courseId, RenderFormat format, Path directory, long outputRetentionNanos) {
+            this.id = id;
+            this.courseId = courseId;
+            this.format = format;
+            this.directory = directory;
+            this.outputRetentionNanos = outputRetentionNanos;
+        }
+
+        void start(long total) {
+            this.total = total;
+            this.startNanos = System.nanoTime();
+            this.startedAt = LocalDateTime.now();
+        }
+
+        void finish(String error) {
+            this.error = error;
+            this.finishNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        /** Holds the lease, or closes it if the output has already been released. */
+        synchronized boolean pin(ArtifactStore.Artifact artifact) {
+            if (released) {
+                artifact.close();
+                return false;
+            }
+            output.add(artifact);
+            return true;
+        }
+
+        /** Closes the output leases and returns the bytes they held. */
+        synchronized long release() {
+            released = true;
+            long bytes = 0;
+            for (ArtifactStore.Artifact artifact : output) {
+                bytes += artifact.size();
+                artifact.close();
+            }
+            output.clear();
+            return bytes;
+        }
+
+        double throughput() {
+            if (startedAt == null) {
+                return 0;
+            }
+            long end = finishedAt != null ? finishNanos : System.nanoTime();
+            double seconds = (end - startNanos) / 1e9;
+            return seconds > 0 ? rendered.get() / seconds : 0;
+        }
+
+        RenderJobStatus status() {
+            RenderJobStatus.State state;
+            if (finishedAt != null) {
+                state = error == null ? RenderJobStatus.State.COMPLETED : RenderJobStatus.State.FAILED;
+            } else {
+                state = startedAt != null ? RenderJobStatus.State.RUNNING : RenderJobStatus.State.QUEUED;
+            }
+            return new RenderJobStatus(id, courseId, format.name(), state, total, rendered.get(), failed.get(),
+                    directory.toString(), submittedAt, startedAt, finishedAt,
+                    finishedAt != null ? finishedAt.plusNanos(outputRetentionNanos) : null, throughput(), error);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.examly.springapp.service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable Roaring-style set of certificate ids. Ids are split into a high key
+ * ({@code id >>> 16}) and a 16-bit low part; each key owns a container holding its low parts,
+ * either a sorted array (up to 4096 values, 2 bytes each) or a 65536-bit bitmap (8 KB), whichever
+ * is smaller. Updates copy only the touched container and the top-level arrays, so readers
+ * never lock.
+ */
+final class RevocationBitmap {
+
+    static final RevocationBitmap EMPTY = new RevocationBitmap(new long[0], new Container[0], 0);
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private final long[] keys;
+    private final Container[] containers;
+    private final long cardinality;
+
+    private RevocationBitmap(long[] keys, Container[] containers, long cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    RevocationBitmap add(long id) {
+        long key = id >>> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            Container container = containers[index];
+            if (container.contains(low)) {
+                return this;
+            }
+            Container[] nextContainers = containers.clone();
+            nextContainers[index] = container.add(low);
+            return new RevocationBitmap(keys, nextContainers, cardinality + 1);
+        }
+        int insertAt = -index - 1;
+        long[] nextKeys = new long[keys.length + 1];
+        Container[] nextContainers = new Container[containers.length + 1];
+        System.arraycopy(keys, 0, nextKeys, 0, insertAt);
+        System.arraycopy(containers, 0, nextContainers, 0, insertAt);
+        nextKeys[insertAt] = key;
+        nextContainers[insertAt] = new ArrayContainer(new char[]{low});
+        System.arraycopy(keys, insertAt, nextKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(containers, insertAt, nextContainers, insertAt + 1, containers.length - insertAt);
+        return new RevocationBitmap(nextKeys, nextContainers, cardinality + 1);
+    }
+
+    RevocationBitmap remove(long id) {
+        int index = Arrays.binarySearch(keys, id >>> 16);
+        if (index < 0 || !containers[index].contains((char) id)) {
+            return this;
+        }
+        Container remaining = containers[index].remove((char) id);
+        if (remaining != null) {
+            Container[] nextContainers = containers.clone();
+            nextContainers[index] = remaining;
+            return new RevocationBitmap(keys, nextContainers, cardinality - 1);
+        }
+        long[] nextKeys = new long[keys.length - 1];
+        Container[] nextContainers = new Container[containers.length - 1];
+        System.arraycopy(keys, 0, nextKeys, 0, index);
+        System.arraycopy(containers, 0, nextContainers, 0, index);
+        System.arraycopy(keys, index + 1, nextKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, index + 1, nextContainers, index, containers.length - index - 1);
+        return new RevocationBitmap(nextKeys, nextContainers, cardinality - 1);
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    int containerCount() {
+        return containers.length;
+    }
+
+    long sizeInBytes() {
+        long bytes = keys.length * 8L;
+        for (Container container : containers) {
+            bytes += container.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    void forEach(LongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Serialized form: container count, then per container its key, a kind byte
+     * (0 = array, 1 = bitmap) and either the value count minus one and the sorted 16-bit values,
+     * or 1024 64-bit words where bit {@code b} of word {@code w} stands for low part
+     * {@code 64 * w + b}. All integers are big-endian.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(containers.length);
+        for (int i = 0; i < keys.length; i++) {
+            out.writeLong(keys[i]);
+            containers[i].writeTo(out);
+        }
+    }
+
+    /**
+     * Builds a bitmap from ids in ascending order without intermediate copies.
+     */
+    static final class Builder {
+        private long[] builtKeys = new long[16];
+        private Container[] builtContainers = new Container[16];
+        private int size;
+        private long cardinality;
+        private long currentKey = -1;
+        private char[] buffer = new char[ARRAY_LIMIT];
+        private long[] words;
+        private int count;
+        private long last = -1;
+
+        Builder add(long id) {
+            if (id <= last) {
+                throw new IllegalArgumentException("Ids must be added in ascending order");
+            }
+            last = id;
+            long key = id >>> 16;
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            char low = (char) id;
+            if (words != null) {
+                words[low >>> 6] |= 1L << low;
+            } else if (count < ARRAY_LIMIT) {
+                buffer[count] = low;
+            } else {
+                words = new long[BITMAP_WORDS];
+                for (int i = 0; i < count; i++) {
+                    words[buffer[i] >>> 6] |= 1L << buffer[i];
+                }
+                words[low >>> 6] |= 1L << low;
+            }
+            count++;
+            return this;
+        }
+
+        RevocationBitmap build() {
+            flush();
+            return new RevocationBitmap(Arrays.copyOf(builtKeys, size), Arrays.copyOf(builtContainers, size), cardinality);
+        }
+
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+            if (size == builtKeys.length) {
+                builtKeys = Arrays.copyOf(builtKeys, size * 2);
+                builtContainers = Arrays.copyOf(builtContainers, size * 2);
+            }
+            builtKeys[size] = currentKey;
+            builtContainers[size] = words != null ? new BitmapContainer(words, count) : new ArrayContainer(Arrays.copyOf(buffer, count));
+            size++;
+            cardinality += count;
+            words = null;
+            count = 0;
+        }
+    }
+
+    private interface Container {
+        boolean contains(char low);
+
+        Container add(char low);
+
+        /**
+         * Returns the container without {@code low}, or null when it becomes empty.
+         */
+        Container remove(char low);
+
+        long sizeInBytes();
+
+        void forEach(long base, LongConsumer consumer);
+
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    private record ArrayContainer(char[] values) implements Container {
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            if (values.length == ARRAY_LIMIT) {
+                long[] words = new long[BITMAP_WORDS];
+                for (char value : values) {
+                    words[value >>> 6] |= 1L << value;
+                }
+                words[low >>> 6] |= 1L << low;
+                return new BitmapContainer(words, values.length + 1);
+            }
+            int insertAt = -Arrays.binarySearch(values, low) - 1;
+            char[] next = new char[values.length + 1];
+            System.arraycopy(values, 0, next, 0, insertAt);
+            next[insertAt] = low;
+            System.arraycopy(values, insertAt, next, insertAt + 1, values.length - insertAt);
+            return new ArrayContainer(next);
+        }
+
+        @Override
+        public Container remove(char low) {
+            if (values.length == 1) {
+                return null;
+            }
+            int index = Arrays.binarySearch(values, low);
+            char[] next = new char[values.length - 1];
+            System.arraycopy(values, 0, next, 0, index);
+            System.arraycopy(values, index + 1, next, index, values.length - index - 1);
+            return new ArrayContainer(next);
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return values.length * 2L;
+        }
+
+        @Override
+        public void forEach(long base, LongConsumer consumer) {
+            for (char value : values) {
+                consumer.accept(base | value);
+            }
+        }
+
+        @Override
+        public void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(0);
+            out.writeShort(values.length - 1);
+            for (char value : values) {
+                out.writeChar(value);
+            }
+        }
+    }
+
+    private record BitmapContainer(long[] words, int cardinality) implements Container {
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            long[] next = words.clone();
+            next[low >>> 6] |= 1L << low;
+            return new BitmapContainer(next, cardinality + 1);
+        }
+
+        @Override
+        public Container remove(char low) {
+            if (cardinality - 1 <= ARRAY_LIMIT) {
+                char[] values = new char[cardinality - 1];
+                int i = 0;
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = words[word];
+                    while (bits != 0) {
+                        char value = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                        if (value != low) {
+                            values[i++] = value;
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+                return new ArrayContainer(values);
+            }
+            long[] next = words.clone();
+            next[low >>> 6] &= ~(1L << low);
+            return new BitmapContainer(next, cardinality - 1);
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return BITMAP_WORDS * 8L;
+        }
+
+        @Override
+        public void forEach(long base, LongConsumer consumer) {
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    consumer.accept(base | ((long) word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        @Override
+        public void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(1);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+}
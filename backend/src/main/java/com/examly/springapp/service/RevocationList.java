@@ -0,0 +1,267 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.entity.Certificate;
+import com.examly.springapp.repository.CertificateBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory set of certificate ids whose signed tokens must no longer verify: revoked,
+ * expired and deleted certificates. Held as an immutable {@link RevocationBitmap} that is
+ * replaced on every change, so lookups are lock-free and dense runs of ids cost one bit each.
+ *
+ * <p>Deletions leave no row behind, so on startup every id missing below the highest
+ * existing id is treated as deleted. Ids above that ceiling were issued after startup (or
+ * deleted before it without a successor) and are not covered by the list; callers confirm
+ * them against the database.
+ *
+ * <p>Local revocations apply at once. Those made on other nodes arrive with the periodic
+ * {@link #refresh}, which rescans the table, applies the differences as ordinary changes,
+ * evicts the affected certificates from the {@link VerificationCache} and raises the
+ * ceiling, so a node trails the others by at most one refresh interval.
+ *
+ * <p>Every change bumps a version and is kept in a bounded change log, so offline verifiers
+ * can fetch a full snapshot once and then only the changes since the version they hold. The
+ * version starts at the load time in epoch milliseconds, keeping it increasing across
+ * restarts; loading discards the change log, forcing clients onto a fresh snapshot.
+ */
+@Component
+@Slf4j
+public class RevocationList {
+
+    private static final int MAGIC = 0x52564b31; // "RVK1"
+    private static final byte SNAPSHOT = 0;
+    private static final byte DELTA = 1;
+
+    private final CertificateBatchRepository certificateBatchRepository;
+    private final VerificationCache verificationCache;
+    private final int maxChanges;
+
+    private volatile RevocationBitmap revoked = RevocationBitmap.EMPTY;
+    // Nothing is covered until the list has been loaded
+    private volatile long ceiling = 0;
+    // Guarded by this
+    private long version = 0;
+    private long changesSince = 0;
+    private boolean loaded;
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+    private volatile Export snapshot;
+
+    public RevocationList(CertificateBatchRepository certificateBatchRepository,
+                          VerificationCache verificationCache,
+                          @Value("${app.revocations.max-changes:10000}") int maxChanges) {
+        this.certificateBatchRepository = certificateBatchRepository;
+        this.verificationCache = verificationCache;
+        this.maxChanges = maxChanges;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Scan scan = scan();
+        synchronized (this) {
+            // Changes applied while loading are kept
+            RevocationBitmap[] merged = {scan.revoked()};
+            revoked.forEach(id -> merged[0] = merged[0].add(id));
+            revoked = merged[0];
+            ceiling = scan.ceiling();
+            loaded = true;
+            version = Math.max(version + 1, System.currentTimeMillis());
+            changesSince = version;
+            changes.clear();
+            snapshot = null;
+        }
+        RevocationBitmap current = revoked;
+        log.info("Revocation list loaded with {} certificates up to id {} in {} containers, {} bytes",
+                current.cardinality(), ceiling, current.containerCount(), current.sizeInBytes());
+    }
+
+    /**
+     * Picks up revocations, restorations and deletions made through other nodes. Ids changed
+     * locally while the scan ran keep their local state, which is at least as recent.
+     */
+    @Scheduled(fixedDelayString = "${app.revocations.refresh-interval-ms:60000}",
+            initialDelayString = "${app.revocations.refresh-interval-ms:60000}")
+    public void refresh() {
+        long scanStart;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            scanStart = version;
+        }
+        Scan scan = scan();
+        int[] applied = {0, 0};
+        Set<Long> changed = new HashSet<>();
+        synchronized (this) {
+            // A truncated change log no longer tells which ids changed during the scan
+            if (changesSince > scanStart) {
+                return;
+            }
+            Set<Long> touched = new HashSet<>();
+            for (Change change : changes) {
+                if (change.version() > scanStart) {
+                    touched.add(change.certificateId());
+                }
+            }
+            RevocationBitmap current = revoked;
+            scan.revoked().forEach(id -> {
+                if (!current.contains(id) && !touched.contains(id)) {
+                    revoke(id);
+                    changed.add(id);
+                    applied[0]++;
+                }
+            });
+            current.forEach(id -> {
+                if (id <= scan.ceiling() && !scan.revoked().contains(id) && !touched.contains(id)) {
+                    restore(id);
+                    changed.add(id);
+                    applied[1]++;
+                }
+            });
+            ceiling = Math.max(ceiling, scan.ceiling());
+        }
+        // Cached verification results of these certificates still show their old status
+        verificationCache.invalidateCertificates(changed);
+        if (applied[0] + applied[1] > 0) {
+            log.info("Revocation list refreshed: {} revoked, {} restored by other nodes", applied[0], applied[1]);
+        }
+    }
+
+    private Scan scan() {
+        RevocationBitmap.Builder ids = new RevocationBitmap.Builder();
+        long[] last = {0};
+        certificateBatchRepository.forEachIdAndStatus((id, status) -> {
+            for (long missing = last[0] + 1; missing < id; missing++) {
+                ids.add(missing);
+            }
+            if (status != Certificate.CertificateStatus.ACTIVE) {
+                ids.add(id);
+            }
+            last[0] = id;
+        });
+        return new Scan(ids.build(), last[0]);
+    }
+
+    public boolean isRevoked(long certificateId) {
+        return revoked.contains(certificateId);
+    }
+
+    /**
+     * Whether the list is authoritative for this id, i.e. absence means the certificate exists.
+     */
+    public boolean covers(long certificateId) {
+        return certificateId > 0 && certificateId <= ceiling;
+    }
+
+    public synchronized void revoke(long certificateId) {
+        RevocationBitmap next = revoked.add(certificateId);
+        if (next != revoked) {
+            revoked = next;
+            record(certificateId, true);
+        }
+    }
+
+    public synchronized void restore(long certificateId) {
+        RevocationBitmap next = revoked.remove(certificateId);
+        if (next != revoked) {
+            revoked = next;
+            record(certificateId, false);
+        }
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Encodes the changes since {@code since}, or the whole list when {@code since} is null
+     * or no longer in the change log.
+     *
+     * <p>Both forms start with the magic {@code "RVK1"}, a kind byte (0 = snapshot, 1 = changes),
+     * the version and the ceiling. A snapshot continues with the bitmap as written by
+     * {@link RevocationBitmap#writeTo}; changes continue with the base version, a count and per
+     * changed id an operation byte (1 = revoked, 0 = restored) and the id, the latest operation
+     * per id only. All integers are big-endian.
+     */
+    public Export export(Long since) {
+        RevocationBitmap bitmap;
+        long currentVersion;
+        long currentCeiling;
+        Map<Long, Boolean> delta = null;
+        synchronized (this) {
+            bitmap = revoked;
+            currentVersion = version;
+            currentCeiling = ceiling;
+            if (since != null && since >= changesSince && since <= version) {
+                delta = new LinkedHashMap<>();
+                for (Change change : changes) {
+                    if (change.version() > since) {
+                        delta.put(change.certificateId(), change.revoked());
+                    }
+                }
+            }
+        }
+        if (delta == null) {
+            Export cached = snapshot;
+            if (cached != null && cached.version() == currentVersion) {
+                return cached;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(delta != null ? 32 + delta.size() * 9 : 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(delta != null ? DELTA : SNAPSHOT);
+            out.writeLong(currentVersion);
+            out.writeLong(currentCeiling);
+            if (delta != null) {
+                out.writeLong(since);
+                out.writeInt(delta.size());
+                for (Map.Entry<Long, Boolean> entry : delta.entrySet()) {
+                    out.writeByte(entry.getValue() ? 1 : 0);
+                    out.writeLong(entry.getKey());
+                }
+            } else {
+                bitmap.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Export export = new Export(currentVersion, delta != null, bytes.toByteArray());
+        if (delta == null) {
+            snapshot = export;
+        }
+        return export;
+    }
+
+    private void record(long certificateId, boolean revoked) {
+        version++;
+        changes.addLast(new Change(version, certificateId, revoked));
+        if (changes.size() > maxChanges) {
+            changesSince = changes.removeFirst().version();
+        }
+    }
+
+    public record Export(long version, boolean delta, byte[] body) {
+    }
+
+    private record Scan(RevocationBitmap revoked, long ceiling) {
+    }
+
+    private record Change(long version, long certificateId, boolean revoked) {
+    }
+}
@@ -1,20 +1,29 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.UserSummary;
 import com.examly.springapp.entity.User;
 import com.examly.springapp.repository.UserRepository;
+import com.examly.springapp.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorPage<UserSummary> getUserPage(Long after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<UserSummary> rows = userRepository.findSummariesAfter(CursorPage.afterOrStart(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, UserSummary::id);
     }
 
     public Optional<User> getUserById(Long id) {
@@ -29,14 +38,23 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        if (user.getRole() != userDetails.getRole() || !Objects.equals(user.getIsActive(), userDetails.getIsActive())) {
+            // Persisted, so tokens carrying the old role are refused on every node and after restarts
+            user.setTokensValidAfter(Instant.now());
+        }
         user.setFullName(userDetails.getFullName());
         user.setRole(userDetails.getRole());
         user.setIsActive(userDetails.getIsActive());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.invalidate(saved.getEmail());
+        return saved;
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            principalCache.invalidate(user.getEmail());
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CacheStats;
+import com.examly.springapp.config.ThreadingConfig;
+import com.examly.springapp.dto.VerificationResult;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded cache of verification results keyed by verification code. Values
+ * are immutable projections, so they are safe to share across requests. Only found
+ * certificates are cached; unknown codes always reach the loader.
+ * <p>
+ * Loaders run on the {@link ThreadingConfig#CACHE_LOADER} executor, which keeps database
+ * lookups out of the cache's map locks when requests run on virtual threads.
+ */
+@Component
+public class VerificationCache implements MeterBinder {
+
+    public static final String NAME = "verification";
+
+    private final Executor loadExecutor;
+    private final AsyncCache<String, VerificationResult> cache;
+
+    public VerificationCache(@Value("${app.verification-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${app.verification-cache.ttl-seconds:300}") long ttlSeconds,
+                             @Qualifier(ThreadingConfig.CACHE_LOADER) Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<VerificationResult> get(String verificationCode, Function<String, Optional<VerificationResult>> loader) {
+        return Optional.ofNullable(join(cache.get(verificationCode, (code, executor) ->
+                CompletableFuture.supplyAsync(() -> loader.apply(code).orElse(null), loadExecutor))));
+    }
+
+    /**
+     * Looks up many codes at once; the loader receives only the codes missing from the cache
+     * and returns the ones it found. Unknown codes are absent from the result.
+     */
+    public Map<String, VerificationResult> getAll(Collection<String> verificationCodes,
+                                                  Function<Set<String>, Map<String, VerificationResult>> loader) {
+        return join(cache.getAll(verificationCodes, (missing, executor) ->
+                CompletableFuture.supplyAsync(() -> loader.apply(Set.copyOf(missing)), loadExecutor)));
+    }
+
+    /**
+     * Drops the cached entry. An in-flight load for the same code is discarded as well,
+     * so a status change is visible to the next verification.
+     */
+    public void invalidate(String verificationCode) {
+        if (verificationCode != null) {
+            cache.synchronous().invalidate(verificationCode);
+        }
+    }
+
+    /**
+     * Drops the entries of these certificates whatever their code, for changes this node only
+     * learns about by id, such as those picked up by {@link RevocationList#refresh}.
+     */
+    public void invalidateCertificates(Set<Long> certificateIds) {
+        if (!certificateIds.isEmpty()) {
+            cache.synchronous().asMap().values().removeIf(result -> certificateIds.contains(result.certificateId()));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), NAME);
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.synchronous().stats();
+        return new CacheStats(NAME, cache.synchronous().estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.FilterStats;
+import com.examly.springapp.repository.CertificateBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter over every issued verification code, used to answer "definitely unknown"
+ * without a database probe. A positive answer still goes to the cache and database. Bits
+ * cannot be cleared, so deleted codes linger as false positives until the next scheduled
+ * rebuild.
+ *
+ * <p>Codes issued on this node are added as their transaction commits; those issued through
+ * other nodes arrive with {@link #refresh}, an incremental scan of the ids above the highest
+ * one seen, reaching {@code refresh-overlap-ids} back for rows that committed out of id
+ * order. A negative answer is only given while the last scan is at most
+ * {@code max-staleness-ms} old; otherwise the miss first triggers a scan, and while one is
+ * running it is passed on to the database. A code issued elsewhere can therefore be
+ * rejected only within {@code max-staleness-ms} of its commit, or, if it committed behind a
+ * higher id, until the next refresh.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationCodeFilter {
+
+    public static final String NAME = "verification-filter";
+
+    private static final double WARN_FALSE_POSITIVE_RATE = 0.01;
+
+    private final CertificateBatchRepository certificateBatchRepository;
+
+    @Value("${app.verification-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.verification-filter.memory-bytes:1048576}")
+    private long memoryBytes;
+
+    // Sizing for the hash-function count when the table is still small
+    @Value("${app.verification-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${app.verification-filter.refresh-overlap-ids:10000}")
+    private long refreshOverlapIds;
+
+    @Value("${app.verification-filter.max-staleness-ms:1000}")
+    private long maxStalenessMs;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    // Highest certificate id scanned into current, and when the last scan finished (nanoTime)
+    private volatile long scannedUpTo;
+    private volatile long scannedAt;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final AtomicLong removalsSinceRebuild = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    // Not a monitor: the scans below hold it across a JDBC stream, which would pin a virtual thread
+    private final ReentrantLock scanLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.verification-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        scanLock.lock();
+        try {
+            rebuildFilter();
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * Adds codes issued through other nodes since the last scan.
+     */
+    @Scheduled(fixedDelayString = "${app.verification-filter.refresh-interval-ms:60000}",
+            initialDelayString = "${app.verification-filter.refresh-interval-ms:60000}")
+    public void refresh() {
+        scanLock.lock();
+        try {
+            scanNew(Math.max(0, scannedUpTo - refreshOverlapIds));
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private void rebuildFilter() {
+        long started = System.currentTimeMillis();
+        long scanStarted = System.nanoTime();
+        BloomFilter next = new BloomFilter(memoryBytes * Byte.SIZE, expectedInsertions);
+        long[] last = {0};
+        // Codes committed while the scan runs are added to both filters by add()
+        building = next;
+        try {
+            certificateBatchRepository.forEachVerificationCode(0, (id, code) -> {
+                next.put(code);
+                last[0] = id;
+            });
+        } catch (RuntimeException e) {
+            building = null;
+            log.error("Verification filter rebuild failed: {}", e.getMessage());
+            return;
+        }
+        current = next;
+        building = null;
+        scannedUpTo = last[0];
+        scannedAt = scanStarted;
+        removalsSinceRebuild.set(0);
+        rebuilds.incrementAndGet();
+
+        double expected = next.expectedFalsePositiveRate();
+        log.info("Verification filter rebuilt with {} codes in {} ms (expected false-positive rate {})",
+                next.insertions(), System.currentTimeMillis() - started, String.format("%.5f", expected));
+        if (expected > WARN_FALSE_POSITIVE_RATE) {
+            log.warn("Verification filter is over capacity; raise app.verification-filter.memory-bytes");
+        }
+    }
+
+    /**
+     * Scans the certificates above {@code afterId} into the current filter. Caller holds
+     * {@link #scanLock}.
+     */
+    private void scanNew(long afterId) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            return;
+        }
+        long scanStarted = System.nanoTime();
+        long[] last = {scannedUpTo};
+        try {
+            certificateBatchRepository.forEachVerificationCode(afterId, (id, code) -> {
+                // Overlapping rows are mostly present already and would inflate the insertion count
+                if (!filter.mightContain(code)) {
+                    put(code);
+                }
+                last[0] = Math.max(last[0], id);
+            });
+        } catch (RuntimeException e) {
+            log.error("Verification filter refresh failed: {}", e.getMessage());
+            return;
+        }
+        scannedUpTo = last[0];
+        scannedAt = scanStarted;
+    }
+
+    /**
+     * Returns false only when the code was never issued, as far as a scan at most
+     * {@code max-staleness-ms} old can tell. Before the first build every code is reported
+     * as possibly present.
+     */
+    public boolean mightContain(String verificationCode) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(verificationCode)) {
+            return true;
+        }
+        if (System.nanoTime() - scannedAt > TimeUnit.MILLISECONDS.toNanos(maxStalenessMs)) {
+            // The code may have been issued through another node since; catch up before rejecting
+            if (!scanLock.tryLock()) {
+                return true;
+            }
+            try {
+                if (System.nanoTime() - scannedAt > TimeUnit.MILLISECONDS.toNanos(maxStalenessMs)) {
+                    scanNew(scannedUpTo);
+                }
+            } finally {
+                scanLock.unlock();
+            }
+            filter = current;
+            if (filter.mightContain(verificationCode)
+                    || System.nanoTime() - scannedAt > TimeUnit.MILLISECONDS.toNanos(maxStalenessMs)) {
+                return true;
+            }
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Records that a code which passed {@link #mightContain} was not found after all.
+     */
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds codes once the surrounding transaction commits, or immediately when none is
+     * active. Adding after the commit keeps a concurrent rebuild from missing them.
+     */
+    public void addAll(Collection<String> verificationCodes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    verificationCodes.forEach(VerificationCodeFilter.this::put);
+                }
+            });
+        } else {
+            verificationCodes.forEach(this::put);
+        }
+    }
+
+    public void add(String verificationCode) {
+        addAll(List.of(verificationCode));
+    }
+
+    /**
+     * Counts a deleted code. Its bits stay set until the next rebuild, so the count, reported
+     * as {@code removalsSinceRebuild} in {@link #stats}, tells how many lingering false
+     * positives the filter has accumulated.
+     */
+    public void markRemoved(String verificationCode) {
+        removalsSinceRebuild.incrementAndGet();
+    }
+
+    private void put(String verificationCode) {
+        // Read building before current: rebuild publishes current first, then clears building
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(verificationCode);
+        }
+        BloomFilter filter = current;
+        if (filter != null && filter != next) {
+            filter.put(verificationCode);
+        }
+    }
+
+    public FilterStats stats() {
+        BloomFilter filter = current;
+        long rejectedCount = rejected.get();
+        long falsePositiveCount = falsePositives.get();
+        long negatives = rejectedCount + falsePositiveCount;
+        return new FilterStats(
+                NAME,
+                filter != null,
+                filter != null ? filter.bitCount() : 0,
+                filter != null ? filter.hashFunctions() : 0,
+                filter != null ? filter.insertions() : 0,
+                removalsSinceRebuild.get(),
+                filter != null ? filter.expectedFalsePositiveRate() : 0,
+                rejectedCount,
+                falsePositiveCount,
+                negatives == 0 ? 0 : (double) falsePositiveCount / negatives,
+                rebuilds.get()
+        );
+    }
+
+    /**
+     * Fixed-size Bloom filter using double hashing over a lock-free bit array.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final AtomicLong insertions = new AtomicLong();
+
+        BloomFilter(long bitCount, long expectedInsertions) {
+            int wordCount = Math.toIntExact(Math.max(1, bitCount / Long.SIZE));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * Long.SIZE;
+            long n = Math.max(1, expectedInsertions);
+            this.hashFunctions = (int) Math.max(1, Math.min(16, Math.round((double) this.bitCount / n * Math.log(2))));
+        }
+
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long bitCount() {
+            return bitCount;
+        }
+
+        int hashFunctions() {
+            return hashFunctions;
+        }
+
+        long insertions() {
+            return insertions.get();
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitCount), hashFunctions);
+        }
+
+        // FNV-1a followed by a SplitMix64 finalizer
+        private static long hash(String value) {
+            long hash = 0xCBF29CE484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
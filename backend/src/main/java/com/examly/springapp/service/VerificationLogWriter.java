@@ -0,0 +1,263 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.entity.VerificationLog;
+import com.examly.springapp.repository.VerificationLogBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for verification logs. Verify requests only enqueue; a single
+ * background writer flushes the queue in JDBC batches once it has collected
+ * {@code flush-size} entries or the {@code flush-interval-ms} has elapsed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VerificationLogWriter implements MeterBinder {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    /** Queued by {@link #stop} to wake the writer; never written. */
+    private static final VerificationLog SHUTDOWN = new VerificationLog();
+
+    private final VerificationLogBatchRepository verificationLogBatchRepository;
+
+    @Value("${app.verification-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.verification-log.flush-size:200}")
+    private int flushSize;
+
+    @Value("${app.verification-log.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.verification-log.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.verification-log.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private BlockingQueue<VerificationLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runWriter, "verification-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a log entry without touching the database. Under the DROP policy a full
+     * buffer discards the entry and counts it; under BLOCK the caller waits for space.
+     * Once the writer has been stopped, entries are refused and counted as dropped.
+     */
+    public void enqueue(VerificationLog verificationLog) {
+        if (verificationLog.getVerificationDate() == null) {
+            verificationLog.setVerificationDate(LocalDateTime.now());
+        }
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                // Bounded waits, so a caller blocked on a full buffer notices a shutdown
+                while (!queue.offer(verificationLog, flushIntervalMs, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return;
+            }
+        } else if (!queue.offer(verificationLog)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        // Stopped while this entry was being queued: unless the final drain took it, it is never written
+        if (!running && queue.remove(verificationLog)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        enqueued.incrementAndGet();
+    }
+
+    /**
+     * Queues the logs of one batch verification. They usually reach the database in the
+     * same JDBC batch; entries that do not fit the buffer are handled as in {@link #enqueue}.
+     */
+    public void enqueueAll(List<VerificationLog> verificationLogs) {
+        verificationLogs.forEach(this::enqueue);
+    }
+
+    private void runWriter() {
+        List<VerificationLog> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush(batch);
+        }
+        // Shutdown is signalled through running, but a stray interrupt would make the pool
+        // refuse connections and lose everything drained below
+        Thread.interrupted();
+        drain(batch);
+    }
+
+    private void collectBatch(List<VerificationLog> batch) throws InterruptedException {
+        VerificationLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null || first == SHUTDOWN) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running && batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (!running || batch.size() >= flushSize || remaining <= 0) {
+                break;
+            }
+            VerificationLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void drain(List<VerificationLog> batch) {
+        do {
+            queue.drainTo(batch, flushSize - batch.size());
+            flush(batch);
+        } while (!queue.isEmpty());
+    }
+
+    private void flush(List<VerificationLog> batch) {
+        batch.removeIf(entry -> entry == SHUTDOWN);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            verificationLogBatchRepository.insertAll(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("Batch of {} verification logs failed, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(this::writeOne);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes one entry on its own so a bad row cannot take the rest of its batch down. A
+     * certificate deleted between verification and flush fails the foreign key; such an
+     * entry is kept without its certificate rather than lost.
+     */
+    private void writeOne(VerificationLog entry) {
+        try {
+            try {
+                verificationLogBatchRepository.insert(entry);
+            } catch (DataIntegrityViolationException e) {
+                if (entry.getCertificate() == null) {
+                    throw e;
+                }
+                log.debug("Certificate {} is gone, writing its verification log without it", entry.getCertificate().getId());
+                entry.setCertificate(null);
+                verificationLogBatchRepository.insert(entry);
+            }
+            written.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("Failed to write verification log: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Woken by a queued marker rather than an interrupt, which could land inside a JDBC flush
+        running = false;
+        try {
+            while (writerThread.isAlive() && !queue.offer(SHUTDOWN, 100, TimeUnit.MILLISECONDS)) {
+                // Full buffer: the writer is busy and checks the flag after this batch
+            }
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Verification log writer did not drain within {} ms, {} entries pending", shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("verification.log.pending", this, VerificationLogWriter::getPending)
+                .description("Log entries waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("verification.log.entries", written, AtomicLong::get)
+                .description("Log entries by what became of them")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("verification.log.entries", dropped, AtomicLong::get)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("verification.log.entries", failed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getEnqueued() {
+        return enqueued.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,140 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CertificateRequest;
+import com.examly.springapp.entity.Certificate;
+import com.examly.springapp.entity.Course;
+import com.examly.springapp.entity.User;
+import com.examly.springapp.repository.CertificateRepository;
+import com.examly.springapp.repository.CourseRepository;
+import com.examly.springapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Issues certificate numbers from many threads at once and checks that none repeat, both
+ * straight from the generator and through {@link CertificateService}, where the unique
+ * constraint on the number would reject a duplicate.
+ */
+@SpringBootTest(properties = "app.token-signing.allow-ephemeral-key=true")
+class CertificateNumberUniquenessTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void generatorNeverRepeatsAcrossThreadsAndNodes() throws Exception {
+        CertificateNumberGenerator nodeOne = new CertificateNumberGenerator(1);
+        CertificateNumberGenerator nodeTwo = new CertificateNumberGenerator(2);
+        int perThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        List<Long> lastIds = runConcurrently(thread -> {
+            CertificateNumberGenerator generator = thread % 2 == 0 ? nodeOne : nodeTwo;
+            long previous = -1;
+            for (int i = 0; i < perThread; i++) {
+                long id = generator.nextId();
+                assertTrue(id > previous, "ids from one node must increase");
+                assertTrue(ids.add(id), "duplicate id " + id);
+                previous = id;
+            }
+            return previous;
+        });
+
+        assertEquals(THREADS, lastIds.size());
+        assertEquals(THREADS * perThread, ids.size());
+    }
+
+    @Test
+    void concurrentIssuanceYieldsDistinctNumbers() throws Exception {
+        Course course = new Course();
+        course.setCourseName("Concurrency " + System.nanoTime());
+        course = courseRepository.save(course);
+
+        User recipient = new User();
+        recipient.setFullName("Concurrent Recipient");
+        recipient.setEmail("concurrent-" + System.nanoTime() + "@example.com");
+        recipient.setPassword("unused");
+        recipient.setRole(User.Role.STUDENT);
+        recipient = userRepository.save(recipient);
+
+        CertificateRequest request = new CertificateRequest();
+        request.setCourseId(course.getId());
+        request.setRecipientId(recipient.getId());
+        int perThread = 100;
+
+        List<List<String>> issued = runConcurrently(thread -> {
+            List<String> numbers = new ArrayList<>(perThread);
+            for (int i = 0; i < perThread; i++) {
+                numbers.add(certificateService.createCertificate(request).getCertificateNumber());
+            }
+            return numbers;
+        });
+
+        Set<String> returned = issued.stream().flatMap(List::stream).collect(Collectors.toSet());
+        assertEquals(THREADS * perThread, returned.size());
+
+        Set<String> stored = certificateRepository.findAll().stream()
+                .filter(certificate -> returned.contains(certificate.getCertificateNumber()))
+                .map(Certificate::getCertificateNumber)
+                .collect(Collectors.toSet());
+        assertEquals(returned, stored);
+    }
+
+    private interface Task<T> {
+        T run(int thread) throws Exception;
+    }
+
+    /**
+     * Starts every thread behind one latch so the calls overlap as much as possible; the
+     * first failure in any thread fails the test.
+     */
+    private static <T> List<T> runConcurrently(Task<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<T> call = () -> {
+                    start.await();
+                    return task.run(thread);
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.service.CertificateNumberGenerator;
+import com.examly.springapp.service.CertificateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification codes and certificate numbers, both generated on every issuance.
+ * {@code CertificateService.generateCertificateNumber} only delegates to
+ * {@link CertificateNumberGenerator}, which is measured directly, alone and contended.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private MethodHandle generateVerificationCode;
+    private CertificateNumberGenerator certificateNumberGenerator;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        generateVerificationCode = MethodHandles.privateLookupIn(CertificateService.class, MethodHandles.lookup())
+                .findStatic(CertificateService.class, "generateVerificationCode", MethodType.methodType(String.class));
+        certificateNumberGenerator = new CertificateNumberGenerator(1);
+    }
+
+    @Benchmark
+    public String verificationCode() throws Throwable {
+        return (String) generateVerificationCode.invokeExact();
+    }
+
+    @Benchmark
+    public String certificateNumber() {
+        return certificateNumberGenerator.nextCertificateNumber();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long certificateNumberContended() {
+        return certificateNumberGenerator.nextId();
+    }
+}
@@ -0,0 +1,393 @@
+package com.examly.springapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: boots the application on a random port against a seeded H2 database
+ * and drives it over HTTP from concurrent clients, through the whole filter chain,
+ * serialization and Hibernate. Latency per operation goes into HdrHistograms; the run fails
+ * with exit code 1 when a latency or error-rate budget is exceeded, so releases can be gated
+ * on it.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.examly.springapp.benchmarks.LoadTest \
+ *     --workload=verify --clients=32 --duration=60s --slo.verify.p99=25
+ * </pre>
+ *
+ * <p>Options: {@code workload} ({@code verify}, {@code issuance}, {@code login} or
+ * {@code mixed}), {@code clients}, {@code duration}, {@code warmup}, {@code rate} (total
+ * requests per second, 0 for as fast as possible), {@code students}, {@code courses},
+ * {@code certificates}, {@code batch-size}, {@code issue-size}, {@code output} and
+ * {@code slo.<operation>.<p50|p99|p999>} in milliseconds or {@code slo.error-rate}. Any other
+ * {@code --key=value} is passed to the application, e.g. {@code --app.verification-cache.maximum-size=0}.
+ *
+ * <p>With a fixed {@code rate}, latency is measured from when each request was due rather
+ * than when it was sent, so a stalled server shows up in the percentiles instead of just
+ * slowing the clients down.
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    enum Operation {
+        VERIFY("verify", 200),
+        VERIFY_MISS("verify-miss", 404),
+        VERIFY_BATCH("verify-batch", 200),
+        ISSUE("issue", 200),
+        LOGIN("login", 200),
+        MY_CERTIFICATES("my-certificates", 200);
+
+        private final String label;
+        private final int expectedStatus;
+
+        Operation(String label, int expectedStatus) {
+            this.label = label;
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    enum Workload {
+        VERIFY(Map.of(Operation.VERIFY, 85, Operation.VERIFY_MISS, 10, Operation.VERIFY_BATCH, 5)),
+        ISSUANCE(Map.of(Operation.ISSUE, 60, Operation.VERIFY, 30, Operation.MY_CERTIFICATES, 10)),
+        LOGIN(Map.of(Operation.LOGIN, 100)),
+        MIXED(Map.of(Operation.VERIFY, 55, Operation.VERIFY_MISS, 5, Operation.VERIFY_BATCH, 5,
+                Operation.ISSUE, 10, Operation.LOGIN, 10, Operation.MY_CERTIFICATES, 15));
+
+        private final Operation[] wheel;
+
+        Workload(Map<Operation, Integer> weights) {
+            List<Operation> slots = new ArrayList<>();
+            weights.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(operation);
+                }
+            });
+            this.wheel = slots.toArray(Operation[]::new);
+        }
+
+        Operation next() {
+            return wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+        }
+    }
+
+    private static final Map<String, Double> DEFAULT_SLOS = Map.of(
+            "verify.p99", 50.0,
+            "verify-miss.p99", 50.0,
+            "verify-batch.p99", 250.0,
+            "issue.p99", 500.0,
+            "login.p99", 1000.0,
+            "my-certificates.p99", 100.0,
+            "error-rate", 0.01);
+
+    private final Options options;
+    private final SeededApplication application;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private String adminToken;
+    private List<String> studentTokens;
+
+    private LoadTest(Options options, SeededApplication application) {
+        this.options = options;
+        this.application = application;
+        this.baseUrl = "http://localhost:" + application.getPort();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> breaches;
+        try (SeededApplication application = SeededApplication.start(options.students, options.courses,
+                options.certificates, options.applicationProperties)) {
+            LoadTest test = new LoadTest(options, application);
+            test.run();
+            breaches = test.report(System.out);
+        }
+        System.exit(breaches.isEmpty() ? 0 : 1);
+    }
+
+    private void run() throws Exception {
+        adminToken = login("admin@system.com", "admin123");
+        studentTokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(20, options.students); i++) {
+            studentTokens.add(login(SeededApplication.studentEmail(i), SeededApplication.PASSWORD));
+        }
+
+        System.out.printf("Load test: workload %s, %d clients, %ds warmup, %ds measured, %s%n",
+                options.workload.name().toLowerCase(), options.clients, options.warmup.toSeconds(), options.duration.toSeconds(),
+                options.rate > 0 ? options.rate + " requests/s" : "closed loop");
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        CountDownLatch done = new CountDownLatch(options.clients);
+        for (int i = 0; i < options.clients; i++) {
+            // Spread the first requests of a fixed-rate run over one interval
+            long offset = options.rate > 0 ? (long) (i * 1e9 / options.rate) : 0;
+            // Each client is a separate verifier as far as per-address rate limiting is concerned
+            String address = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+            Thread thread = new Thread(() -> {
+                try {
+                    runClient(address, start + offset, measureFrom, end);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+    }
+
+    private void runClient(String address, long firstDue, long measureFrom, long end) {
+        long interval = options.rate > 0 ? (long) (options.clients * 1e9 / options.rate) : 0;
+        long due = firstDue;
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                if (due > now) {
+                    LockSupport.parkNanos(due - now);
+                }
+            } else {
+                due = now;
+            }
+            if (due >= end) {
+                return;
+            }
+            Operation operation = options.workload.next();
+            boolean ok;
+            try {
+                ok = send(operation, address) == operation.expectedStatus;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (due >= measureFrom) {
+                stats.get(operation).record(System.nanoTime() - due, ok);
+            }
+            due += interval;
+        }
+    }
+
+    private int send(Operation operation, String address) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> codes = application.getVerificationCodes();
+        HttpRequest.Builder request = switch (operation) {
+            case VERIFY -> get("/api/verify/" + codes.get(random.nextInt(codes.size())));
+            case VERIFY_MISS -> get("/api/verify/MISSING" + random.nextInt(1_000_000));
+            case VERIFY_BATCH -> {
+                List<String> batch = new ArrayList<>(options.batchSize);
+                for (int i = 0; i < options.batchSize; i++) {
+                    batch.add(codes.get(random.nextInt(codes.size())));
+                }
+                yield post("/api/verify/batch", Map.of("codes", batch));
+            }
+            case ISSUE -> {
+                List<Long> students = application.getStudentIds();
+                List<Long> courses = application.getCourseIds();
+                List<Map<String, Long>> recipients = new ArrayList<>(options.issueSize);
+                for (int i = 0; i < options.issueSize; i++) {
+                    recipients.add(Map.of("recipientId", students.get(random.nextInt(students.size()))));
+                }
+                yield post("/api/certificates/bulk", Map.of("courseId", courses.get(random.nextInt(courses.size())),
+                        "recipients", recipients)).header("Authorization", "Bearer " + adminToken);
+            }
+            case LOGIN -> post("/api/auth/login", Map.of(
+                    "email", SeededApplication.studentEmail(random.nextInt(options.students)),
+                    "password", SeededApplication.PASSWORD));
+            case MY_CERTIFICATES -> get("/api/certificates/my")
+                    .header("Authorization", "Bearer " + studentTokens.get(random.nextInt(studentTokens.size())));
+        };
+        return client.send(request.header("X-Forwarded-For", address).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(post("/api/auth/login", Map.of("email", email, "password", password))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + email + " failed with status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    /**
+     * Prints the results, writes them as JSON and returns the budgets that were exceeded.
+     */
+    private List<String> report(PrintStream out) throws IOException {
+        double seconds = options.duration.toNanos() / 1e9;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        List<String> breaches = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+
+        out.printf("%n%-16s %9s %7s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Stats stat = stats.get(operation);
+            Histogram histogram = stat.latency;
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            requests += count;
+            errors += stat.errors.get();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", count);
+            result.put("errors", stat.errors.get());
+            result.put("throughput", count / seconds);
+            result.put("p50", millis(histogram, 50));
+            result.put("p99", millis(histogram, 99));
+            result.put("p999", millis(histogram, 99.9));
+            result.put("max", histogram.getMaxValue() / 1000.0);
+            operations.put(operation.label, result);
+            out.printf("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", operation.label, count, stat.errors.get(),
+                    count / seconds, result.get("p50"), result.get("p99"), result.get("p999"), result.get("max"));
+
+            for (String percentile : List.of("p50", "p99", "p999")) {
+                Double budget = options.slos.get(operation.label + "." + percentile);
+                double actual = (double) result.get(percentile);
+                if (budget != null && actual > budget) {
+                    breaches.add(String.format("%s %s %.2f ms exceeds %.2f ms", operation.label, percentile, actual, budget));
+                }
+            }
+        }
+        double errorRate = requests > 0 ? (double) errors / requests : 0;
+        Double errorBudget = options.slos.get("error-rate");
+        if (requests == 0) {
+            breaches.add("no requests completed");
+        } else if (errorBudget != null && errorRate > errorBudget) {
+            breaches.add(String.format("error rate %.4f exceeds %.4f", errorRate, errorBudget));
+        }
+        out.printf("%-16s %9d %7d %10.1f%n", "total", requests, errors, requests / seconds);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workload", options.workload.name().toLowerCase());
+        result.put("clients", options.clients);
+        result.put("rate", options.rate);
+        result.put("durationSeconds", seconds);
+        result.put("cores", Runtime.getRuntime().availableProcessors());
+        result.put("operations", operations);
+        result.put("errorRate", errorRate);
+        result.put("slos", options.slos);
+        result.put("breaches", breaches);
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.output.toFile(), result);
+
+        out.println();
+        if (breaches.isEmpty()) {
+            out.println("All SLOs met. Results written to " + options.output);
+        } else {
+            breaches.forEach(breach -> out.println("SLO breached: " + breach));
+        }
+        return breaches;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Options {
+        private Workload workload = Workload.MIXED;
+        private int clients = 16;
+        private Duration duration = Duration.ofSeconds(30);
+        private Duration warmup = Duration.ofSeconds(10);
+        private double rate = 0;
+        private int students = 2000;
+        private int courses = 200;
+        private int certificates = 50_000;
+        private int batchSize = 50;
+        private int issueSize = 5;
+        private Path output = Path.of("loadtest-result.json");
+        private final Map<String, Double> slos = new LinkedHashMap<>(DEFAULT_SLOS);
+        private final Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "workload" -> options.workload = Workload.valueOf(value.toUpperCase());
+                    case "clients" -> options.clients = Integer.parseInt(value);
+                    case "duration" -> options.duration = DurationStyle.detectAndParse(value, ChronoUnit.SECONDS);
+                    case "warmup" -> options.warmup = DurationStyle.detectAndParse(value, ChronoUnit.SECONDS);
+                    case "rate" -> options.rate = Double.parseDouble(value);
+                    case "students" -> options.students = Integer.parseInt(value);
+                    case "courses" -> options.courses = Integer.parseInt(value);
+                    case "certificates" -> options.certificates = Integer.parseInt(value);
+                    case "batch-size" -> options.batchSize = Integer.parseInt(value);
+                    case "issue-size" -> options.issueSize = Integer.parseInt(value);
+                    case "output" -> options.output = Path.of(value);
+                    default -> {
+                        if (name.startsWith("slo.")) {
+                            options.slos.put(name.substring(4), Double.parseDouble(value));
+                        } else {
+                            options.applicationProperties.put(name, value);
+                        }
+                    }
+                }
+            }
+            if (options.students < 1 || options.courses < 1 || options.certificates < 1 || options.clients < 1) {
+                throw new IllegalArgumentException("clients, students, courses and certificates must be positive");
+            }
+            return options;
+        }
+    }
+}
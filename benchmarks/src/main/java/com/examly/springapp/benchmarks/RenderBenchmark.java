@@ -0,0 +1,95 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.render.CertificateFields;
+import com.examly.springapp.render.CompiledTemplate;
+import com.examly.springapp.render.QrCodeGenerator;
+import com.examly.springapp.render.RenderFormat;
+import com.examly.springapp.render.TemplateCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Certificate rendering throughput against pool size, the way batch render jobs run it: a
+ * work-stealing pool rendering the default layout and encoding each document. Every
+ * document has its own verification code, so QR codes are never served from cache. Expect
+ * throughput to stop scaling once {@code parallelism} exceeds the cores of the machine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+
+    private static final int DOCUMENTS = 64;
+
+    // Shaped like a real signed token, so the QR code has the production version and size
+    private static final String TOKEN = "AQAAAAAAAAABABdDRVJULTM3MDE0NTM4MjY2NTAyNzU4NAAMSmFuZSBTdHVkZW50ACBEaXN0cmlidXRlZCBT"
+            + "eXN0ZW1zIEZ1bmRhbWVudGFscwAAAABpAG0A.2fFv3bJ0lS8d1yQh9m4dM0Jx1rG2m6tPq0c8W7VZ3JbRkq1xF9yN4uTg5hW0sLp";
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"PDF"})
+    public RenderFormat format;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private CompiledTemplate template;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        QrCodeGenerator qrCodeGenerator = new QrCodeGenerator("https://certificates.example.com", 0);
+        template = new TemplateCompiler(new ObjectMapper(), qrCodeGenerator).compile(null);
+        pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void renderBatch() {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[DOCUMENTS];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            tasks[i] = pool.submit(this::renderOne);
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    private void renderOne() {
+        long id = sequence.incrementAndGet();
+        CertificateFields fields = new CertificateFields("Jane Student", "Distributed Systems Fundamentals",
+                "October 18, 2026", String.format("%012X", id), "CERT-" + (370145382665027584L + id), "ACTIVE", TOKEN);
+        try {
+            format.write(template.render(fields), OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
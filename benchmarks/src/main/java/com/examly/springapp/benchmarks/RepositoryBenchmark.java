@@ -0,0 +1,79 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.dto.VerificationResult;
+import com.examly.springapp.entity.Certificate;
+import com.examly.springapp.repository.CertificateRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification-code lookups through Spring Data and Hibernate against a seeded H2 database:
+ * the entity query, the projection used by the verify endpoint, and a miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"100000"})
+    public int certificates;
+
+    @Param({"200"})
+    public int courses;
+
+    @Param({"1000"})
+    public int students;
+
+    private SeededApplication application;
+    private CertificateRepository certificateRepository;
+    private List<String> codes;
+
+    @Setup
+    public void setUp() throws Exception {
+        application = SeededApplication.start(students, courses, certificates);
+        certificateRepository = application.getBean(CertificateRepository.class);
+        codes = application.getVerificationCodes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Optional<Certificate> findByVerificationCode() {
+        return certificateRepository.findByVerificationCode(randomCode());
+    }
+
+    @Benchmark
+    public Optional<VerificationResult> findVerificationResult() {
+        return certificateRepository.findVerificationResult(randomCode());
+    }
+
+    @Benchmark
+    public Optional<Certificate> findByVerificationCodeMiss() {
+        return certificateRepository.findByVerificationCode("MISSING" + ThreadLocalRandom.current().nextInt(100_000));
+    }
+
+    private String randomCode() {
+        return codes.get(ThreadLocalRandom.current().nextInt(codes.size()));
+    }
+}
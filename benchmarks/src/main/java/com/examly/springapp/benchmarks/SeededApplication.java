@@ -0,0 +1,160 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.SpringappApplication;
+import com.examly.springapp.service.RevocationList;
+import com.examly.springapp.service.VerificationCodeFilter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Boots the application on a random port against a private in-memory H2 database and seeds
+ * it with students, courses and certificates, for benchmarks and load tests that need the
+ * real stack. Students sign in as {@code student<n>@benchmark.test} with {@link #PASSWORD}.
+ */
+final class SeededApplication implements AutoCloseable {
+
+    static final String PASSWORD = "benchmark";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final List<String> verificationCodes;
+    private final List<Long> courseIds;
+    private final List<Long> studentIds;
+
+    private SeededApplication(ConfigurableApplicationContext context, List<String> verificationCodes,
+                              List<Long> courseIds, List<Long> studentIds) {
+        this.context = context;
+        this.verificationCodes = verificationCodes;
+        this.courseIds = courseIds;
+        this.studentIds = studentIds;
+    }
+
+    static SeededApplication start(int students, int courses, int certificates) throws Exception {
+        return start(students, courses, certificates, Map.of());
+    }
+
+    static SeededApplication start(int students, int courses, int certificates, Map<String, String> overrides)
+            throws Exception {
+        Path artifacts = Files.createTempDirectory("benchmark-artifacts");
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.examly.springapp", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("app.render.output-dir", artifacts.toString());
+        properties.put("app.token-signing.allow-ephemeral-key", "true");
+        properties.putAll(overrides);
+        // Passed as arguments so they override application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringappApplication.class)
+                .run(properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new));
+
+        try {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Long> studentIds = seedStudents(jdbcTemplate, context.getBean(PasswordEncoder.class), students);
+            List<Long> courseIds = seedCourses(jdbcTemplate, courses);
+            List<String> codes = seedCertificates(jdbcTemplate, courseIds, studentIds, certificates);
+            // Both were loaded when the application became ready, before the seed data existed
+            context.getBean(VerificationCodeFilter.class).rebuild();
+            context.getBean(RevocationList.class).onApplicationReady();
+            return new SeededApplication(context, codes, courseIds, studentIds);
+        } catch (Exception | Error e) {
+            // Tomcat and scheduler threads are not daemons; left running they would keep the JVM alive
+            context.close();
+            throw e;
+        }
+    }
+
+    int getPort() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<String> getVerificationCodes() {
+        return verificationCodes;
+    }
+
+    List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    static String studentEmail(int index) {
+        return "student" + index + "@benchmark.test";
+    }
+
+    private static List<Long> seedStudents(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, int students) {
+        // One hash for everyone; hashing each password would dominate seeding
+        String password = passwordEncoder.encode(PASSWORD);
+        Long institutionId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM institutions", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            rows.add(new Object[]{"Student " + i, studentEmail(i), password, "STUDENT", institutionId, true,
+                    Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (full_name, email, password, role, institution_id, is_active, "
+                + "created_date) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE '%@benchmark.test' ORDER BY id", Long.class);
+    }
+
+    private static List<Long> seedCourses(JdbcTemplate jdbcTemplate, int courses) {
+        List<Object[]> rows = new ArrayList<>(courses);
+        for (int i = 1; i <= courses; i++) {
+            rows.add(new Object[]{"Course " + i, "Description of course " + i, "Pass the final exam", 0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (course_name, description, completion_criteria, revision) VALUES (?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM courses ORDER BY id", Long.class);
+    }
+
+    private static List<String> seedCertificates(JdbcTemplate jdbcTemplate, List<Long> courseIds, List<Long> userIds,
+                                                 int certificates) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<String> codes = new ArrayList<>(certificates);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.now().minusYears(3);
+        for (int i = 0; i < certificates; i++) {
+            String code = UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
+            codes.add(code);
+            String status = random.nextInt(100) < 95 ? "ACTIVE" : (random.nextBoolean() ? "REVOKED" : "EXPIRED");
+            batch.add(new Object[]{"CERT-" + (1_000_000_000L + i), code,
+                    courseIds.get(random.nextInt(courseIds.size())), userIds.get(random.nextInt(userIds.size())),
+                    Timestamp.valueOf(start.plusMinutes(random.nextInt(3 * 365 * 24 * 60))), status});
+            if (batch.size() == BATCH_SIZE || i == certificates - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO certificates (certificate_number, verification_code, course_id, "
+                        + "recipient_id, issue_date, status) VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return codes;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
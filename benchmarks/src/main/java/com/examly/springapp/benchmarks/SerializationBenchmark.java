@@ -0,0 +1,101 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.entity.Certificate;
+import com.examly.springapp.entity.CertificateTemplate;
+import com.examly.springapp.entity.Course;
+import com.examly.springapp.entity.Institution;
+import com.examly.springapp.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the entities controllers return, with an object mapper configured
+ * the way Spring Boot configures the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Certificate certificate;
+    private Course course;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Institution institution = new Institution();
+        institution.setId(1L);
+        institution.setName("Default Institution");
+        institution.setContactInfo("contact@institution.com");
+
+        User admin = user(2L, "Certificate Admin", "certadmin@system.com", User.Role.CERTIFICATE_ADMIN, institution);
+        User recipient = user(4L, "Jane Student", "student@system.com", User.Role.STUDENT, institution);
+
+        CertificateTemplate template = new CertificateTemplate();
+        template.setId(1L);
+        template.setName("Classic");
+        template.setDesignData("{\"width\":1123,\"height\":794,\"elements\":[{\"type\":\"text\",\"text\":\"{{recipientName}}\","
+                + "\"x\":561,\"y\":330,\"font\":\"Serif\",\"size\":44,\"align\":\"center\"}]}");
+        template.setVersion(3);
+        template.setCreatedBy(admin);
+        template.setApprovalStatus(CertificateTemplate.ApprovalStatus.APPROVED);
+
+        course = new Course();
+        course.setId(1L);
+        course.setCourseName("Distributed Systems Fundamentals");
+        course.setDescription("Consensus, replication and failure detection in practice, over twelve weeks.");
+        course.setCompletionCriteria("Pass all assignments and the final exam with at least 70%.");
+        course.setCertificateTemplate(template);
+
+        certificate = new Certificate();
+        certificate.setId(1L);
+        certificate.setCertificateNumber("CERT-370145382665027584");
+        certificate.setVerificationCode("C5B7E92FE4C7");
+        certificate.setCourse(course);
+        certificate.setRecipient(recipient);
+        certificate.setIssueDate(LocalDateTime.of(2026, 10, 18, 9, 45, 36));
+        certificate.setStatus(Certificate.CertificateStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public byte[] certificate() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(certificate);
+    }
+
+    @Benchmark
+    public byte[] course() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(course);
+    }
+
+    private static User user(Long id, String fullName, String email, User.Role role, Institution institution) {
+        User user = new User();
+        user.setId(id);
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5wBn1pYVa6sRdxm.RY3sVZC");
+        user.setRole(role);
+        user.setInstitution(institution);
+        user.setIsActive(true);
+        user.setCreatedDate(LocalDateTime.of(2026, 1, 5, 8, 0));
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.examly.springapp.benchmarks;
+
+import com.examly.springapp.service.CertificateNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates certificate numbers from many threads at once, faster than the 4096 per
+ * millisecond the sequence holds, and fails the run if any id repeats or if a thread ever
+ * sees ids go backwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SnowflakeUniquenessBenchmark {
+
+    private static final int CAPACITY = 1 << 24;
+
+    @State(Scope.Benchmark)
+    public static class Generated {
+        final CertificateNumberGenerator generator = new CertificateNumberGenerator(7);
+        final long[] ids = new long[CAPACITY];
+        final AtomicInteger count = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            count.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void checkUnique() {
+            int recorded = Math.min(count.get(), CAPACITY);
+            long[] sorted = Arrays.copyOf(ids, recorded);
+            Arrays.sort(sorted);
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] == sorted[i - 1]) {
+                    throw new IllegalStateException("Duplicate certificate number " + sorted[i]);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Last {
+        long id;
+    }
+
+    @Benchmark
+    public long nextId(Generated generated, Last last) {
+        long id = generated.generator.nextId();
+        if (id <= last.id) {
+            throw new IllegalStateException("Certificate number went backwards: " + id + " after " + last.id);
+        }
+        last.id = id;
+        int slot = generated.count.getAndIncrement();
+        if (slot < CAPACITY) {
+            generated.ids[slot] = id;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,24 @@
+import React from 'react';
+
+const LoadMore = ({ cursor, onLoad }) => {
+  if (!cursor) return null;
+
+  const buttonStyle = {
+    display: 'block',
+    margin: '1.5rem auto 0',
+    backgroundColor: '#3498db',
+    color: 'white',
+    border: 'none',
+    padding: '0.75rem 1.5rem',
+    borderRadius: '5px',
+    cursor: 'pointer'
+  };
+
+  return (
+    <button style={buttonStyle} onClick={() => onLoad(cursor)}>
+      Load more
+    </button>
+  );
+};
+
+export default LoadMore;
@@ -2,9 +2,11 @@ import React, { useState, useEffect } from 'react';
 import { FaCertificate, FaPlus, FaEdit, FaTrash, FaEye } from 'react-icons/fa';
 import { toast } from 'react-toastify';
 import { certificateAPI, courseAPI, userAPI } from '../services/api';
+import LoadMore from '../components/common/LoadMore';
 
 const Certificates = ({ user }) => {
   const [certificates, setCertificates] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [courses, setCourses] = useState([]);
   const [users, setUsers] = useState([]);
   const [showModal, setShowModal] = useState(false);
@@ -25,12 +27,13 @@ const Certificates = ({ user }) => {
     }
   }, [user.role]);
 
-  const fetchCertificates = async () => {
+  const fetchCertificates = async (after) => {
     try {
       const response = user.role === 'STUDENT' 
         ? await certificateAPI.getMy()
-        : await certificateAPI.getAll();
-      setCertificates(response.data);
+        : await certificateAPI.getAll(after);
+      setCertificates(prev => after ? [...prev, ...response.data] : response.data);
+      setNextCursor(response.nextCursor || null);
     } catch (error) {
       toast.error('Failed to fetch certificates');
     }
@@ -38,7 +41,7 @@ const Certificates = ({ user }) => {
 
   const fetchCourses = async () => {
     try {
-      const response = await courseAPI.getAll();
+      const response = await courseAPI.getOptions();
       setCourses(response.data);
     } catch (error) {
       toast.error('Failed to fetch courses');
@@ -47,7 +50,7 @@ const Certificates = ({ user }) => {
 
   const fetchUsers = async () => {
     try {
-      const response = await userAPI.getAll();
+      const response = await userAPI.getOptions();
       setUsers(response.data);
     } catch (error) {
       toast.error('Failed to fetch users');
@@ -238,6 +241,7 @@ const Certificates = ({ user }) => {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={nextCursor} onLoad={fetchCertificates} />
 
       {showModal && (
         <div style={modalStyle}>
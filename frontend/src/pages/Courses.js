@@ -2,9 +2,11 @@ import React, { useState, useEffect } from 'react';
 import { FaBook, FaPlus, FaEdit, FaTrash } from 'react-icons/fa';
 import { toast } from 'react-toastify';
 import { courseAPI, templateAPI } from '../services/api';
+import LoadMore from '../components/common/LoadMore';
 
 const Courses = ({ user }) => {
   const [courses, setCourses] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [templates, setTemplates] = useState([]);
   const [showModal, setShowModal] = useState(false);
   const [editingCourse, setEditingCourse] = useState(null);
@@ -20,10 +22,11 @@ const Courses = ({ user }) => {
     fetchTemplates();
   }, []);
 
-  const fetchCourses = async () => {
+  const fetchCourses = async (after) => {
     try {
-      const response = await courseAPI.getAll();
-      setCourses(response.data);
+      const response = await courseAPI.getAll(after);
+      setCourses(prev => after ? [...prev, ...response.data] : response.data);
+      setNextCursor(response.nextCursor);
     } catch (error) {
       toast.error('Failed to fetch courses');
     }
@@ -31,7 +34,7 @@ const Courses = ({ user }) => {
 
   const fetchTemplates = async () => {
     try {
-      const response = await templateAPI.getAll();
+      const response = await templateAPI.getOptions();
       setTemplates(response.data);
     } catch (error) {
       toast.error('Failed to fetch templates');
@@ -224,6 +227,7 @@ const Courses = ({ user }) => {
           </div>
         ))}
       </div>
+      <LoadMore cursor={nextCursor} onLoad={fetchCourses} />
 
       {showModal && (
         <div style={modalStyle}>
@@ -2,9 +2,11 @@ import React, { useState, useEffect } from 'react';
 import { FaFileAlt, FaPlus, FaEdit, FaTrash } from 'react-icons/fa';
 import { toast } from 'react-toastify';
 import { templateAPI } from '../services/api';
+import LoadMore from '../components/common/LoadMore';
 
 const Templates = ({ user }) => {
   const [templates, setTemplates] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [showModal, setShowModal] = useState(false);
   const [editingTemplate, setEditingTemplate] = useState(null);
   const [formData, setFormData] = useState({
@@ -16,10 +18,11 @@ const Templates = ({ user }) => {
     fetchTemplates();
   }, []);
 
-  const fetchTemplates = async () => {
+  const fetchTemplates = async (after) => {
     try {
-      const response = await templateAPI.getAll();
-      setTemplates(response.data);
+      const response = await templateAPI.getAll(after);
+      setTemplates(prev => after ? [...prev, ...response.data] : response.data);
+      setNextCursor(response.nextCursor);
     } catch (error) {
       toast.error('Failed to fetch templates');
     }
@@ -191,6 +194,7 @@ const Templates = ({ user }) => {
           </div>
         ))}
       </div>
+      <LoadMore cursor={nextCursor} onLoad={fetchTemplates} />
 
       {showModal && (
         <div style={modalStyle}>
@@ -2,9 +2,11 @@ import React, { useState, useEffect } from 'react';
 import { FaUsers, FaEdit, FaTrash, FaUserCheck, FaUserTimes } from 'react-icons/fa';
 import { toast } from 'react-toastify';
 import { userAPI } from '../services/api';
+import LoadMore from '../components/common/LoadMore';
 
 const Users = ({ user }) => {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [showModal, setShowModal] = useState(false);
   const [editingUser, setEditingUser] = useState(null);
   const [formData, setFormData] = useState({
@@ -27,10 +29,11 @@ const Users = ({ user }) => {
     fetchUsers();
   }, []);
 
-  const fetchUsers = async () => {
+  const fetchUsers = async (after) => {
     try {
-      const response = await userAPI.getAll();
-      setUsers(response.data);
+      const response = await userAPI.getAll(after);
+      setUsers(prev => after ? [...prev, ...response.data] : response.data);
+      setNextCursor(response.nextCursor);
     } catch (error) {
       toast.error('Failed to fetch users');
     }
@@ -213,6 +216,7 @@ const Users = ({ user }) => {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={nextCursor} onLoad={fetchUsers} />
 
       {showModal && (
         <div style={modalStyle}>
@@ -32,13 +32,27 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Page size for the list views; matches the server default
+const PAGE_SIZE = 100;
+
+// Largest page the listing endpoints serve; select lists take just this first page
+const OPTIONS_SIZE = 1000;
+
+// Listings are keyset-paginated: fetch one page and hand back the X-Next-Cursor value
+// (null on the last page) so the list views can load further pages on demand.
+const getPage = async (url, after, size = PAGE_SIZE) => {
+  const params = after ? { size, after } : { size };
+  const response = await api.get(url, { params });
+  return { ...response, nextCursor: response.headers['x-next-cursor'] || null };
+};
+
 export const authAPI = {
   login: (credentials) => api.post('/api/auth/login', credentials),
   register: (userData) => api.post('/api/auth/register', userData),
 };
 
 export const certificateAPI = {
-  getAll: () => api.get('/api/certificates'),
+  getAll: (after) => getPage('/api/certificates', after),
   getById: (id) => {
     if (!id || typeof id !== 'string' && typeof id !== 'number') throw new Error('Invalid ID');
     return api.get(`/api/certificates/${encodeURIComponent(id)}`);
@@ -56,7 +70,8 @@ export const certificateAPI = {
 };
 
 export const templateAPI = {
-  getAll: () => api.get('/api/templates'),
+  getAll: (after) => getPage('/api/templates', after),
+  getOptions: () => getPage('/api/templates', null, OPTIONS_SIZE),
   getById: (id) => {
     if (!id || typeof id !== 'string' && typeof id !== 'number') throw new Error('Invalid ID');
     return api.get(`/api/templates/${encodeURIComponent(id)}`);
@@ -73,7 +88,8 @@ export const templateAPI = {
 };
 
 export const courseAPI = {
-  getAll: () => api.get('/api/courses'),
+  getAll: (after) => getPage('/api/courses', after),
+  getOptions: () => getPage('/api/courses', null, OPTIONS_SIZE),
   getById: (id) => {
     if (!id || typeof id !== 'string' && typeof id !== 'number') throw new Error('Invalid ID');
     return api.get(`/api/courses/${encodeURIComponent(id)}`);
@@ -90,7 +106,8 @@ export const courseAPI = {
 };
 
 export const userAPI = {
-  getAll: () => api.get('/api/users'),
+  getAll: (after) => getPage('/api/users', after),
+  getOptions: () => getPage('/api/users', null, OPTIONS_SIZE),
   getById: (id) => {
     if (!id || typeof id !== 'string' && typeof id !== 'number') throw new Error('Invalid ID');
     return api.get(`/api/users/${encodeURIComponent(id)}`);